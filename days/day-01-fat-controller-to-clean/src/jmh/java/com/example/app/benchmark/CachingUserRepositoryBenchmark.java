@@ -0,0 +1,151 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import com.example.app.after.infrastructure.persistence.cache.CachingUserRepository;
+import com.example.app.after.infrastructure.persistence.cache.UserCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lookups through CachingUserRepository in front of a store that takes
+ * {@code storeLatencyMicros} per call, at several hit ratios. A hot set of
+ * {@code hotUsers} users fits in the cache; each lookup goes to the hot set with
+ * probability {@code hitRatio} and otherwise to a user outside it, which
+ * W-TinyLFU declines to admit over the hot entries. The observed hit ratio is
+ * printed after each trial. {@code uncached} is the store on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class CachingUserRepositoryBenchmark {
+
+    private static final List<String> CACHES = List.of("users.by-id", "users.by-email");
+
+    @Param({"100000"})
+    public int users;
+
+    @Param({"10000"})
+    public int hotUsers;
+
+    @Param({"0.0", "0.5", "0.9", "0.99"})
+    public double hitRatio;
+
+    @Param({"100"})
+    public long storeLatencyMicros;
+
+    private User[] stored;
+    private UserRepository store;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserRepository cache;
+    private final Map<String, double[]> countsAfterSetUp = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        InMemoryUserRepository memory = new InMemoryUserRepository();
+        stored = UserFixtures.users(users);
+        memory.saveAll(List.of(stored));
+        store = delayed(memory, TimeUnit.MICROSECONDS.toNanos(storeLatencyMicros));
+
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CachingUserRepository(store, new UserCacheProperties(hotUsers, Duration.ofHours(1)), meterRegistry);
+        // Hot users read a few times so the frequency sketch favours them from the start
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < hotUsers; i++) {
+                cache.findById(stored[i].getId());
+                cache.findByEmail(UserFixtures.email(i));
+            }
+        }
+        for (String name : CACHES) {
+            countsAfterSetUp.put(name, gets(name));
+        }
+    }
+
+    @TearDown
+    public void reportHitRatio() {
+        for (String name : CACHES) {
+            double[] now = gets(name);
+            double[] before = countsAfterSetUp.get(name);
+            double hits = now[0] - before[0];
+            double misses = now[1] - before[1];
+            if (hits + misses == 0) {
+                continue;
+            }
+            System.out.printf("%n%s observed hit ratio %.3f (%d lookups)%n", name, hits / (hits + misses),
+                (long) (hits + misses));
+        }
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return cache.findById(stored[nextIndex()].getId());
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return cache.findByEmail(UserFixtures.email(nextIndex()));
+    }
+
+    @Benchmark
+    public Optional<User> uncached() {
+        return store.findById(stored[nextIndex()].getId());
+    }
+
+    /**
+     * Hits and misses recorded so far by one of the two caches
+     */
+    private double[] gets(String name) {
+        return new double[] {
+            meterRegistry.get("cache.gets").tag("cache", name).tag("result", "hit").functionCounter().count(),
+            meterRegistry.get("cache.gets").tag("cache", name).tag("result", "miss").functionCounter().count()
+        };
+    }
+
+    private int nextIndex() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextDouble() < hitRatio ? random.nextInt(hotUsers) : hotUsers + random.nextInt(users - hotUsers);
+    }
+
+    /**
+     * Parks before every repository call, as a round trip to a durable store would
+     */
+    private static UserRepository delayed(UserRepository repository, long latencyNanos) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class}, (proxy, method, methodArgs) -> {
+                if (method.getDeclaringClass() != Object.class) {
+                    LockSupport.parkNanos(latencyNanos);
+                }
+                try {
+                    return method.invoke(repository, methodArgs);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.events.DomainEventProperties;
+import com.example.app.after.infrastructure.events.RingBufferEventDispatcher;
+import com.example.app.after.infrastructure.events.WaitStrategy;
+import com.example.app.shared.domain.DomainEvent;
+import com.example.app.shared.domain.DomainEventHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained domain event throughput from one publishing thread to N handlers that each
+ * spend {@code work} Blackhole tokens per event:
+ * <ul>
+ *   <li>inline: handlers called on the publishing thread, as a synchronous in-request bus would</li>
+ *   <li>blockingQueue: an ArrayBlockingQueue and thread per handler, publisher blocks when one is full</li>
+ *   <li>ringBuffer: RingBufferEventDispatcher per wait strategy, publisher retries when the ring is full</li>
+ * </ul>
+ * Handler threads need cores of their own; on fewer cores than handlers + 1 the spinning strategies
+ * mostly measure the scheduler.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainEventDispatchBenchmark {
+
+    private static final int CAPACITY = 8192;
+
+    private static final List<DomainEvent> EVENTS = List.of(new User.UserActivatedEvent(UserId.generate()));
+
+    @State(Scope.Benchmark)
+    public static class Handlers {
+
+        @Param({"1", "4"})
+        public int handlers;
+
+        @Param({"0", "200"})
+        public int work;
+
+        List<DomainEventHandler> list;
+
+        @Setup
+        public void setUp() {
+            list = new ArrayList<>(handlers);
+            for (int i = 0; i < handlers; i++) {
+                String name = "handler-" + i;
+                list.add(new DomainEventHandler() {
+                    @Override
+                    public void handle(List<DomainEvent> events) {
+                        Blackhole.consumeCPU((long) work * events.size());
+                    }
+
+                    @Override
+                    public String name() {
+                        return name;
+                    }
+                });
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RingBuffer {
+
+        @Param({"BLOCKING", "SLEEPING", "YIELDING", "BUSY_SPIN"})
+        public WaitStrategy.Kind waitStrategy;
+
+        RingBufferEventDispatcher dispatcher;
+
+        @Setup
+        public void setUp(Handlers handlers) {
+            dispatcher = new RingBufferEventDispatcher(handlers.list,
+                new DomainEventProperties(CAPACITY, 256, waitStrategy, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+        }
+
+        @TearDown
+        public void tearDown() throws InterruptedException {
+            dispatcher.destroy();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Queues {
+
+        final List<BlockingQueue<DomainEvent>> queues = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+
+        @Setup
+        public void setUp(Handlers handlers) {
+            for (DomainEventHandler handler : handlers.list) {
+                BlockingQueue<DomainEvent> queue = new ArrayBlockingQueue<>(CAPACITY);
+                Thread thread = new Thread(() -> {
+                    try {
+                        while (true) {
+                            handler.handle(List.of(queue.take()));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                thread.setDaemon(true);
+                thread.start();
+                queues.add(queue);
+                threads.add(thread);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws InterruptedException {
+            for (Thread thread : threads) {
+                thread.interrupt();
+                thread.join();
+            }
+        }
+    }
+
+    @Benchmark
+    public void inline(Handlers handlers) {
+        for (DomainEventHandler handler : handlers.list) {
+            handler.handle(EVENTS);
+        }
+    }
+
+    @Benchmark
+    public void blockingQueue(Queues queues) throws InterruptedException {
+        for (BlockingQueue<DomainEvent> queue : queues.queues) {
+            queue.put(EVENTS.get(0));
+        }
+    }
+
+    @Benchmark
+    public void ringBuffer(RingBuffer ringBuffer) {
+        // Full ring: let the handlers run, as a blocked queue producer would
+        while (!ringBuffer.dispatcher.tryPublish(EVENTS)) {
+            Thread.yield();
+        }
+    }
+}
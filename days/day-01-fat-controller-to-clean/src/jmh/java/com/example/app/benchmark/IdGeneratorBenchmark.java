@@ -0,0 +1,54 @@
+package com.example.app.benchmark;
+
+import com.example.app.shared.domain.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation throughput with 4 threads sharing one generator (override with -t):
+ * random = UUID.randomUUID() (shared SecureRandom), timeOrdered = UUIDv7 from
+ * TimeOrderedIdGenerator (one CAS on a shared counter, ThreadLocalRandom).
+ * nextId includes the toString UserId and DomainEvent store.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    @Param({"random", "timeOrdered"})
+    public String generator;
+
+    private IdGenerator ids;
+
+    @Setup
+    public void setUp() {
+        ids = generator.equals("random") ? IdGenerator.random() : IdGenerator.timeOrdered();
+    }
+
+    @Benchmark
+    public UUID next() {
+        return ids.next();
+    }
+
+    @Benchmark
+    public String nextId() {
+        return ids.next().toString();
+    }
+}
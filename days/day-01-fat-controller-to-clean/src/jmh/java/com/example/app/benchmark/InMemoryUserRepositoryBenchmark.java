@@ -0,0 +1,121 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemoryUserRepository hot paths at several data sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class InMemoryUserRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int users;
+
+    private InMemoryUserRepository repository;
+    private User[] stored;
+    private User[] spare;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryUserRepository();
+        stored = UserFixtures.users(users);
+        repository.saveAll(List.of(stored));
+        spare = new User[1024];
+        for (int i = 0; i < spare.length; i++) {
+            spare[i] = UserFixtures.user(users + i);
+        }
+    }
+
+    @Benchmark
+    public User saveExisting() {
+        return repository.save(randomUser());
+    }
+
+    @Benchmark
+    public User saveNewThenDelete() {
+        User user = spare[ThreadLocalRandom.current().nextInt(spare.length)];
+        // Deleted last time round, so it is inserted afresh
+        user.setVersion(0);
+        repository.save(user);
+        repository.delete(user.getId());
+        return user;
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return repository.findById(randomUser().getId());
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return repository.findByEmail(UserFixtures.email(ThreadLocalRandom.current().nextInt(users)));
+    }
+
+    @Benchmark
+    public List<User> findAll() {
+        return repository.findAll(0, PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public List<User> findAllDeepPage() {
+        return repository.findAll(users / PAGE_SIZE / 2, PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public List<User> findAllByStatus() {
+        return repository.findAll(0, PAGE_SIZE, "INACTIVE", null);
+    }
+
+    @Benchmark
+    public List<User> findAllBySearch() {
+        return repository.findAll(0, PAGE_SIZE, null, "grace novak");
+    }
+
+    @Benchmark
+    public List<User> findAllByStatusAndSearch() {
+        return repository.findAll(0, PAGE_SIZE, "ACTIVE", "okafor");
+    }
+
+    @Benchmark
+    public long count() {
+        return repository.count(null, null);
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return repository.count("INACTIVE", null);
+    }
+
+    @Benchmark
+    public long countBySearch() {
+        return repository.count(null, "grace novak");
+    }
+
+    private User randomUser() {
+        return stored[ThreadLocalRandom.current().nextInt(stored.length)];
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.app.benchmark;
+
+import com.example.app.before.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The legacy Map-based repository on the same operations as InMemoryUserRepositoryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class LegacyUserRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int users;
+
+    private UserRepository repository;
+    private Map<String, Object>[] stored;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        repository = new UserRepository();
+        stored = new Map[users];
+        for (int i = 0; i < users; i++) {
+            stored[i] = UserFixtures.legacyUser(i);
+            repository.save(stored[i]);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> save() {
+        return repository.save(stored[ThreadLocalRandom.current().nextInt(users)]);
+    }
+
+    @Benchmark
+    public Map<String, Object> findById() {
+        return repository.findById("legacy-" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> findByEmail() {
+        return repository.findByEmail(UserFixtures.email(ThreadLocalRandom.current().nextInt(users)));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> findAll() {
+        return repository.findAll(Map.of(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> findAllByStatus() {
+        return repository.findAll(Map.of("status", "INACTIVE"), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> findAllBySearch() {
+        return repository.findAll(Map.of("search", "grace novak"), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long count() {
+        return repository.count();
+    }
+}
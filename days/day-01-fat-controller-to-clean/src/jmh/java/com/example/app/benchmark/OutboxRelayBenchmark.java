@@ -0,0 +1,103 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.events.DomainEventProperties;
+import com.example.app.after.infrastructure.events.RingBufferEventDispatcher;
+import com.example.app.after.infrastructure.events.WaitStrategy;
+import com.example.app.after.infrastructure.events.outbox.LocalOutboxSink;
+import com.example.app.after.infrastructure.events.outbox.OutboxEventPublisher;
+import com.example.app.after.infrastructure.events.outbox.OutboxProperties;
+import com.example.app.after.infrastructure.events.outbox.OutboxRelay;
+import com.example.app.shared.domain.DomainEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draining a backlog of {@code events} user events from the outbox table (in-memory H2)
+ * to the local sink, by relay batch size. batchSize = 1 is a poll-and-delete per event;
+ * larger batches share one SELECT and one JDBC delete batch. Time is per drained backlog.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OutboxRelayBenchmark {
+
+    @Param({"20000"})
+    public int events;
+
+    @Param({"1", "100", "1000"})
+    public int batchSize;
+
+    private SingleConnectionDataSource dataSource;
+    private RingBufferEventDispatcher dispatcher;
+    private OutboxEventPublisher publisher;
+    private OutboxRelay relay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1", true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/outbox-schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Polling left to the benchmark
+        OutboxProperties properties = new OutboxProperties(batchSize, Duration.ofHours(1), Duration.ofSeconds(10),
+            100_000);
+        dispatcher = new RingBufferEventDispatcher(List.of(),
+            new DomainEventProperties(1024, 256, WaitStrategy.Kind.BLOCKING, Duration.ofSeconds(1)), meterRegistry);
+        publisher = new OutboxEventPublisher(jdbcTemplate, Jackson2ObjectMapperBuilder.json().build(), dispatcher);
+        relay = new OutboxRelay(jdbcTemplate, new LocalOutboxSink(properties, meterRegistry), properties,
+            meterRegistry);
+    }
+
+    @Setup(Level.Iteration)
+    public void fillOutbox() {
+        List<DomainEvent> batch = new ArrayList<>(1000);
+        for (int i = 0; i < events; i++) {
+            batch.add(new User.UserActivatedEvent(UserId.generate()));
+            if (batch.size() == 1000) {
+                publisher.publish(batch);
+                batch = new ArrayList<>(1000);
+            }
+        }
+        publisher.publish(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        relay.destroy();
+        dispatcher.destroy();
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public long drain() {
+        return relay.drain();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.application.dto.CreateUserRequest;
+import com.example.app.after.application.dto.UpdateUserRequest;
+import com.example.app.after.application.dto.UserResponse;
+import com.example.app.after.application.mapper.UserMapper;
+import com.example.app.after.application.service.UserApplicationService;
+import com.example.app.after.application.service.UserRetryProperties;
+import com.example.app.after.domain.User;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserApplicationService write paths over the in-memory repository
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class UserApplicationServiceBenchmark {
+
+    @Param({"100000"})
+    public int users;
+
+    private final AtomicLong nextEmail = new AtomicLong();
+
+    private UserApplicationService service;
+    private User[] stored;
+    private String[] ids;
+    private boolean[] moved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        stored = UserFixtures.users(users);
+        repository.saveAll(List.of(stored));
+        ids = new String[users];
+        moved = new boolean[users];
+        for (int i = 0; i < users; i++) {
+            ids[i] = stored[i].getId().getValue();
+        }
+        service = new UserApplicationService(repository, new UserMapper(),
+            new UserRetryProperties(3, Duration.ofMillis(5), Duration.ofMillis(100)), events -> { },
+            UserFixtures.PASSWORD_HASHER, TransactionOperations.withoutTransaction());
+    }
+
+    @Benchmark
+    public UserResponse createUser() {
+        String email = "created" + nextEmail.incrementAndGet() + "@example.com";
+        return service.createUser(new CreateUserRequest(email, "Created User", UserFixtures.PASSWORD));
+    }
+
+    @Benchmark
+    public UserResponse updateName() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(users);
+        String name = UserFixtures.name(random.nextInt(64));
+        return service.updateUser(ids[index], new UpdateUserRequest(null, name, null));
+    }
+
+    @Benchmark
+    public UserResponse updateEmail() {
+        int index = ThreadLocalRandom.current().nextInt(users);
+        // Alternate between two spellings so the email stays unique and always changes
+        moved[index] = !moved[index];
+        String email = moved[index] ? "moved" + index + "@example.com" : UserFixtures.email(index);
+        return service.updateUser(ids[index], new UpdateUserRequest(email, null, null));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deterministic users shared by the benchmarks.
+ * 
+ * Names combine 8 first names and 8 last names, so "smith" matches 1/8 of the
+ * users and "alice smith" 1/64; every fourth user is INACTIVE.
+ */
+public final class UserFixtures {
+
+    public static final String PASSWORD = "password123";
+
+    // Stands in for PBKDF2, whose cost would dwarf everything the other benchmarks measure
+    public static final PasswordHasher PASSWORD_HASHER = password -> Integer.toHexString(password.hashCode());
+
+    private static final String[] FIRST_NAMES = {"Alice", "Bruno", "Carla", "Dmitri", "Elena", "Farid", "Grace", "Hiro"};
+    private static final String[] LAST_NAMES = {"Smith", "Garcia", "Novak", "Okafor", "Tanaka", "Muller", "Rossi", "Jensen"};
+
+    private UserFixtures() {
+    }
+
+    public static String email(int index) {
+        return "user" + index + "@example.com";
+    }
+
+    public static String name(int index) {
+        return FIRST_NAMES[index % FIRST_NAMES.length] + " " + LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    public static User user(int index) {
+        User user = User.create(email(index), name(index), PASSWORD, PASSWORD_HASHER);
+        if (index % 4 == 3) {
+            user.deactivate();
+        }
+        // Creation events are not under test and would otherwise stay referenced by every user
+        user.getDomainEvents();
+        return user;
+    }
+
+    public static User[] users(int count) {
+        User[] users = new User[count];
+        for (int i = 0; i < count; i++) {
+            users[i] = user(i);
+        }
+        return users;
+    }
+
+    /**
+     * Same user in the shape the legacy before.* stack stores
+     */
+    public static Map<String, Object> legacyUser(int index) {
+        Map<String, Object> user = new HashMap<>();
+        user.put("id", "legacy-" + index);
+        user.put("email", email(index));
+        user.put("name", name(index));
+        user.put("password", PASSWORD);
+        user.put("status", index % 4 == 3 ? "INACTIVE" : "ACTIVE");
+        user.put("created_at", LocalDateTime.now());
+        user.put("updated_at", LocalDateTime.now());
+        return user;
+    }
+}
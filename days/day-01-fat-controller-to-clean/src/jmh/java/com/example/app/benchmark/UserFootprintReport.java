@@ -0,0 +1,97 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import com.example.app.after.infrastructure.persistence.compact.CompactUserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Retained heap per user for InMemoryUserRepository and CompactUserRepository.
+ * 
+ * Not a JMH benchmark: it fills each store, forces GC and reads used heap.
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.main=com.example.app.benchmark.UserFootprintReport
+ *     -Dbenchmark.jvmArgs=-Xmx24g -Djmh.args="1000000 10000000"
+ * Add "-store compact" to measure one store, e.g. 10M compact users on a small heap.
+ */
+public final class UserFootprintReport {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public record Footprint(String store, int users, long retainedBytes, long bytesPerUser) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Integer> sizes = new ArrayList<>();
+        String resultFile = null;
+        String onlyStore = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-rff") && i + 1 < args.length) {
+                resultFile = args[++i];
+            } else if (args[i].equals("-store") && i + 1 < args.length) {
+                onlyStore = args[++i];
+            } else if (args[i].matches("\\d+")) {
+                sizes.add(Integer.parseInt(args[i]));
+            }
+        }
+        if (sizes.isEmpty()) {
+            sizes = List.of(1_000_000, 10_000_000);
+        }
+
+        List<Footprint> results = new ArrayList<>();
+        for (int users : sizes) {
+            if (onlyStore == null || onlyStore.equals("in-memory")) {
+                results.add(measure("in-memory", users, InMemoryUserRepository::new));
+            }
+            if (onlyStore == null || onlyStore.equals("compact")) {
+                results.add(measure("compact", users, CompactUserRepository::new));
+            }
+        }
+        for (Footprint result : results) {
+            System.out.printf("%-10s %,12d users %,16d bytes %,8d bytes/user%n",
+                result.store(), result.users(), result.retainedBytes(), result.bytesPerUser());
+        }
+        if (resultFile != null) {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(resultFile), results);
+        }
+    }
+
+    private static Footprint measure(String store, int users, Supplier<UserRepository> factory) {
+        long before = usedHeapAfterGc();
+        UserRepository repository = factory.get();
+        for (int i = 0; i < users; i++) {
+            repository.save(UserFixtures.user(i));
+        }
+        long retained = usedHeapAfterGc() - before;
+        Reference.reachabilityFence(repository);
+        return new Footprint(store, users, retained, retained / users);
+    }
+
+    // Repeats GC until used heap stops falling; freeing a large store takes more than one pass
+    private static long usedHeapAfterGc() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 20; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long current = MEMORY.getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.application.dto.CreateUserRequest;
+import com.example.app.after.application.dto.UserImportResponse;
+import com.example.app.after.application.dto.UserImportRow;
+import com.example.app.after.application.mapper.UserMapper;
+import com.example.app.after.application.service.UserApplicationService;
+import com.example.app.after.application.service.UserApplicationService.EmailAlreadyExistsException;
+import com.example.app.after.application.service.UserImportProperties;
+import com.example.app.after.application.service.UserImportService;
+import com.example.app.after.application.service.UserRetryProperties;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import com.example.app.after.infrastructure.persistence.JdbcUserRepository;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importing a tenant of users into an empty repository: one createUser call per
+ * row (validated by the domain, as the controller path does) versus
+ * UserImportService. Every 20th row is invalid and every 50th repeats an email,
+ * so both paths also produce errors. Time is per import of {@code rows} rows.
+ *
+ * store: memory = InMemoryUserRepository, jdbc = JdbcUserRepository on in-memory H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class UserImportBenchmark {
+
+    @Param({"50000"})
+    public int rows;
+
+    // Validation threads for the import; 0 uses one per available processor
+    @Param({"1", "0"})
+    public int parallelism;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    @Param({"memory", "jdbc"})
+    public String store;
+
+    private SingleConnectionDataSource dataSource;
+    private UserImportRow[] importRows;
+
+    private UserApplicationService applicationService;
+    private UserImportService importService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        importRows = new UserImportRow[rows];
+        for (int i = 0; i < rows; i++) {
+            String email = i % 50 == 49 ? UserFixtures.email(i - 1) : UserFixtures.email(i);
+            String password = i % 20 == 19 ? "short" : UserFixtures.PASSWORD;
+            importRows[i] = UserImportRow.of(i + 1, new CreateUserRequest(email, UserFixtures.name(i), password));
+        }
+        if (store.equals("jdbc")) {
+            dataSource = new SingleConnectionDataSource("jdbc:h2:mem:import;DB_CLOSE_DELAY=-1", true);
+            new ResourceDatabasePopulator(new ClassPathResource("db/users-schema.sql")).execute(dataSource);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyRepository() {
+        UserRepository repository;
+        if (dataSource != null) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("TRUNCATE TABLE app_users");
+            repository = new JdbcUserRepository(jdbcTemplate);
+        } else {
+            repository = new InMemoryUserRepository();
+        }
+        applicationService = new UserApplicationService(repository, new UserMapper(),
+            new UserRetryProperties(3, Duration.ofMillis(5), Duration.ofMillis(100)), events -> { },
+            UserFixtures.PASSWORD_HASHER, TransactionOperations.withoutTransaction());
+        if (importService != null) {
+            importService.destroy();
+        }
+        importService = new UserImportService(repository, new UserImportProperties(batchSize, parallelism),
+            events -> { }, TransactionOperations.withoutTransaction(), UserFixtures.PASSWORD_HASHER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        importService.destroy();
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @Benchmark
+    public int createUserPerRow() {
+        int imported = 0;
+        for (UserImportRow row : importRows) {
+            try {
+                applicationService.createUser(row.request());
+                imported++;
+            } catch (EmailAlreadyExistsException | IllegalArgumentException e) {
+                // Reported per row by the controller
+            }
+        }
+        return imported;
+    }
+
+    @Benchmark
+    public UserImportResponse importUsers() {
+        return importService.importUsers(Arrays.asList(importRows).iterator());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.application.dto.UserResponse;
+import com.example.app.after.application.mapper.UserMapper;
+import com.example.app.after.domain.User;
+import com.example.app.after.infrastructure.web.UserJsonCache;
+import com.example.app.after.infrastructure.web.UserJsonCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body of GET /api/v2/users/{id} for a set of hot users that all fit in the cache:
+ * map and serialize with Jackson on every read versus UserJsonCache. Run with
+ * {@code -prof gc} for the bytes allocated per read (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserJsonCacheBenchmark {
+
+    @Param({"1000"})
+    public int users;
+
+    private final UserMapper mapper = new UserMapper();
+
+    // Configured like Spring Boot's auto-configured ObjectMapper (ISO dates, JSR-310 module)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private User[] stored;
+    private UserJsonCache cache;
+
+    @Setup
+    public void setUp() {
+        stored = UserFixtures.users(users);
+        cache = new UserJsonCache(objectMapper, new UserJsonCacheProperties(users), new SimpleMeterRegistry());
+        for (User user : stored) {
+            cache.toJson(user.getId().getValue(), user.getVersion(), () -> mapper.toResponse(user));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEveryRead() throws Exception {
+        return objectMapper.writeValueAsBytes(mapper.toResponse(randomUser()));
+    }
+
+    @Benchmark
+    public byte[] cachedBytes() {
+        User user = randomUser();
+        return cache.toJson(user.getId().getValue(), user.getVersion(), () -> mapper.toResponse(user));
+    }
+
+    private User randomUser() {
+        return stored[ThreadLocalRandom.current().nextInt(users)];
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.app.benchmark;
+
+import com.example.app.Day01Application;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Before-vs-after load test: drives the legacy /api/v1/users controller and the
+ * clean /api/v2/users controller with the same mixed workload and reports
+ * throughput, latency percentiles and server-side allocation rate side by side.
+ *
+ * Starts the application on a random port unless --url is given. Options:
+ * --concurrency=32 --users=10000 --warmup=10 --duration=30 (seconds)
+ * --mix=create:10,read:60,list:20,update:10 --stacks=v1,v2 --profiles=virtual-threads
+ * --url=http://host:port
+ *
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.main=com.example.app.benchmark.UserLoadTest
+ *     -Djmh.args="--concurrency=64 --users=100000" -Djmh.result=target/load-results.json
+ */
+public final class UserLoadTest implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String SERVER_THREAD_PREFIX = "http-nio-";
+
+    // Shared by every run in the process, so repeated runs against one server never reuse an email
+    private static final AtomicLong EMAIL_SEQUENCE = new AtomicLong();
+
+    enum Operation { CREATE, READ, LIST, UPDATE }
+
+    private record LoadedUser(String id, String email) {
+    }
+
+    public record OperationResult(Operation operation, long requests, long errors, double throughput,
+                                  double p50Micros, double p99Micros, double p999Micros) {
+    }
+
+    public record StackResult(String stack, int concurrency, int users, double throughput, long errors,
+                              double p50Micros, double p99Micros, double p999Micros,
+                              Double allocatedMegabytesPerSecond, Double allocatedBytesPerRequest,
+                              List<OperationResult> operations) {
+    }
+
+    private final Options options;
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+
+    UserLoadTest(Options options) {
+        this.options = options;
+        this.clientExecutor = Executors.newFixedThreadPool(Math.max(2, options.concurrency / 4));
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.url;
+        if (baseUrl == null) {
+            context = SpringApplication.run(Day01Application.class,
+                "--server.port=0",
+                "--spring.profiles.active=" + options.profiles,
+                "--logging.level.com.example.app=WARN",
+                "--logging.level.org.springframework.web=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try (UserLoadTest test = new UserLoadTest(options)) {
+            List<StackResult> results = new ArrayList<>();
+            for (String stack : options.stacks) {
+                String usersUrl = baseUrl + "/api/" + stack + "/users";
+                if (!test.isServed(usersUrl)) {
+                    System.out.printf("Skipping %s: %s is not served%n", stack, usersUrl);
+                    continue;
+                }
+                results.add(test.run(stack, usersUrl, context != null));
+            }
+            print(results);
+            if (options.resultFile != null) {
+                JSON.writerWithDefaultPrettyPrinter().writeValue(new File(options.resultFile), results);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            System.exit(0);
+        }
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+
+    boolean isServed(String usersUrl) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(get(usersUrl + "?page=0&size=1"), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() != 404;
+    }
+
+    StackResult run(String stack, String usersUrl, boolean measureAllocation) throws Exception {
+        System.out.printf("%s: loading %,d users%n", stack, options.users);
+        AtomicReferenceArray<LoadedUser> users = populate(usersUrl);
+
+        System.out.printf("%s: warming up for %ds%n", stack, options.warmupSeconds);
+        drive(usersUrl, users, options.warmupSeconds);
+
+        System.out.printf("%s: measuring for %ds with %d clients%n", stack, options.durationSeconds, options.concurrency);
+        long allocatedBefore = measureAllocation ? serverAllocatedBytes() : -1;
+        long started = System.nanoTime();
+        Map<Operation, LatencyRecorder> recorded = drive(usersUrl, users, options.durationSeconds);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long allocated = measureAllocation ? serverAllocatedBytes() - allocatedBefore : -1;
+
+        LatencyRecorder all = new LatencyRecorder();
+        List<OperationResult> operations = new ArrayList<>();
+        for (Map.Entry<Operation, LatencyRecorder> entry : recorded.entrySet()) {
+            LatencyRecorder latencies = entry.getValue();
+            all.addAll(latencies);
+            operations.add(new OperationResult(entry.getKey(), latencies.count(), latencies.errors,
+                latencies.count() / seconds, latencies.percentileMicros(50), latencies.percentileMicros(99),
+                latencies.percentileMicros(99.9)));
+        }
+        long requests = all.count();
+        return new StackResult(stack, options.concurrency, options.users, requests / seconds, all.errors,
+            all.percentileMicros(50), all.percentileMicros(99), all.percentileMicros(99.9),
+            allocated < 0 ? null : allocated / seconds / (1024 * 1024),
+            allocated < 0 || requests == 0 ? null : (double) allocated / requests,
+            operations);
+    }
+
+    private AtomicReferenceArray<LoadedUser> populate(String usersUrl) throws Exception {
+        AtomicReferenceArray<LoadedUser> users = new AtomicReferenceArray<>(options.users);
+        AtomicLong next = new AtomicLong();
+        runWorkers(() -> {
+            for (long index = next.getAndIncrement(); index < options.users; index = next.getAndIncrement()) {
+                users.set((int) index, create(usersUrl));
+            }
+            return null;
+        });
+        return users;
+    }
+
+    private Map<Operation, LatencyRecorder> drive(String usersUrl, AtomicReferenceArray<LoadedUser> users, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Map<Operation, LatencyRecorder>> perWorker = runWorkers(() -> {
+            Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new LatencyRecorder());
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                Operation operation = options.pick(random.nextInt(options.totalWeight));
+                LatencyRecorder recorder = latencies.get(operation);
+                long started = System.nanoTime();
+                try {
+                    execute(operation, usersUrl, users.get(random.nextInt(users.length())), random);
+                    recorder.record(System.nanoTime() - started);
+                } catch (Exception e) {
+                    recorder.errors++;
+                }
+            }
+            return latencies;
+        });
+
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        for (Map<Operation, LatencyRecorder> worker : perWorker) {
+            worker.forEach((operation, latencies) -> merged.computeIfAbsent(operation, key -> new LatencyRecorder()).addAll(latencies));
+        }
+        merged.values().removeIf(latencies -> latencies.count() == 0 && latencies.errors == 0);
+        return merged;
+    }
+
+    private void execute(Operation operation, String usersUrl, LoadedUser user, ThreadLocalRandom random)
+            throws IOException, InterruptedException {
+        switch (operation) {
+            case CREATE -> create(usersUrl);
+            case READ -> expectOk(client.send(get(usersUrl + "/" + user.id()), HttpResponse.BodyHandlers.ofByteArray()));
+            case LIST -> expectOk(client.send(get(usersUrl + "?page=" + random.nextInt(10) + "&size=20"),
+                HttpResponse.BodyHandlers.ofByteArray()));
+            case UPDATE -> {
+                // Full profile update: the legacy controller validates email on every PUT
+                String body = JSON.writeValueAsString(Map.of("email", user.email(), "name", UserFixtures.name(random.nextInt(64))));
+                HttpRequest request = HttpRequest.newBuilder(URI.create(usersUrl + "/" + user.id()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+                expectOk(client.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+            }
+        }
+    }
+
+    private LoadedUser create(String usersUrl) throws IOException, InterruptedException {
+        String email = "load" + EMAIL_SEQUENCE.incrementAndGet() + "@example.com";
+        String body = JSON.writeValueAsString(Map.of("email", email, "name", "Load User", "password", UserFixtures.PASSWORD));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(usersUrl))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        HttpResponse<byte[]> response = expectOk(client.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+        return new LoadedUser(JSON.readTree(response.body()).path("id").asText(), email);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static <T> HttpResponse<T> expectOk(HttpResponse<T> response) {
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " from " + response.uri());
+        }
+        return response;
+    }
+
+    private <T> List<T> runWorkers(Callable<T> worker) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < options.concurrency; i++) {
+                futures.add(workers.submit(worker));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Bytes allocated so far by the embedded server's request threads
+     */
+    private static long serverAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threads.getAllThreadIds();
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && infos[i].getThreadName().startsWith(SERVER_THREAD_PREFIX) && allocated[i] > 0) {
+                total += allocated[i];
+            }
+        }
+        return total;
+    }
+
+    static void print(List<StackResult> results) {
+        System.out.printf("%n%-6s %-8s %12s %10s %10s %10s %10s %12s %12s%n",
+            "stack", "op", "req/s", "p50 us", "p99 us", "p999 us", "errors", "alloc MB/s", "alloc B/req");
+        for (StackResult result : results) {
+            for (OperationResult operation : result.operations()) {
+                System.out.printf("%-6s %-8s %12.1f %10.1f %10.1f %10.1f %10d%n", result.stack(),
+                    operation.operation().name().toLowerCase(), operation.throughput(),
+                    operation.p50Micros(), operation.p99Micros(), operation.p999Micros(), operation.errors());
+            }
+            System.out.printf("%-6s %-8s %12.1f %10.1f %10.1f %10.1f %10d %12s %12s%n", result.stack(), "all",
+                result.throughput(), result.p50Micros(), result.p99Micros(), result.p999Micros(), result.errors(),
+                result.allocatedMegabytesPerSecond() == null ? "n/a" : String.format("%.1f", result.allocatedMegabytesPerSecond()),
+                result.allocatedBytesPerRequest() == null ? "n/a" : String.format("%.0f", result.allocatedBytesPerRequest()));
+        }
+    }
+
+    /**
+     * Per-worker latency samples; merged and sorted once at the end
+     */
+    private static final class LatencyRecorder {
+
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+        private boolean sorted;
+
+        void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            sorted = false;
+        }
+
+        void addAll(LatencyRecorder other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.samples[i]);
+            }
+            errors += other.errors;
+        }
+
+        long count() {
+            return size;
+        }
+
+        double percentileMicros(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(samples, 0, size);
+                sorted = true;
+            }
+            int index = (int) Math.min(size - 1, Math.ceil(percentile / 100 * size) - 1);
+            return samples[Math.max(0, index)] / 1_000.0;
+        }
+    }
+
+    static final class Options {
+
+        private int concurrency = 32;
+        private int users = 10_000;
+        private int warmupSeconds = 10;
+        private int durationSeconds = 30;
+        private List<String> stacks = List.of("v1", "v2");
+        private String url;
+        private String profiles = "";
+        private String resultFile;
+        private final Map<Operation, Integer> mix = new LinkedHashMap<>(Map.of(
+            Operation.CREATE, 10, Operation.READ, 60, Operation.LIST, 20, Operation.UPDATE, 10));
+        private int totalWeight;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("-rff") && i + 1 < args.length) {
+                    options.resultFile = args[++i];
+                } else if (arg.equals("-rf") && i + 1 < args.length) {
+                    i++;
+                } else if (arg.startsWith("--")) {
+                    String[] option = arg.substring(2).split("=", 2);
+                    if (option.length != 2) {
+                        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                    }
+                    options.set(option[0], option[1]);
+                } else {
+                    throw new IllegalArgumentException("Unknown argument " + arg);
+                }
+            }
+            options.totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+            if (options.totalWeight <= 0 || options.concurrency < 1 || options.users < 1) {
+                throw new IllegalArgumentException("concurrency, users and the workload mix must be positive");
+            }
+            return options;
+        }
+
+        private void set(String name, String value) {
+            switch (name) {
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "users" -> users = Integer.parseInt(value);
+                case "warmup" -> warmupSeconds = Integer.parseInt(value);
+                case "duration" -> durationSeconds = Integer.parseInt(value);
+                case "stacks" -> stacks = List.of(value.split(","));
+                case "url" -> url = value;
+                case "profiles" -> profiles = value;
+                case "mix" -> {
+                    mix.replaceAll((operation, weight) -> 0);
+                    for (String entry : value.split(",")) {
+                        String[] parts = entry.split(":");
+                        mix.put(Operation.valueOf(parts[0].toUpperCase()), Integer.parseInt(parts[1]));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+
+        Operation pick(int ticket) {
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                ticket -= entry.getValue();
+                if (ticket < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Ticket outside the workload mix");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.UserPayloadValidator;
+import com.example.app.after.domain.valueobjects.Email;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validation cost of one signup payload. annotationsAndDomain = what every create
+ * used to run: Bean Validation on the annotated DTO (@NotBlank, @Email, @Size),
+ * then the domain checks again with the email regex. singlePass = what User.create
+ * runs now: UserPayloadValidator.createErrors plus the Email constructor's scan.
+ * emailRegex / emailScanner isolate the email check.
+ *
+ * payload: valid; invalid = bad email and short password; hostile = 200-character
+ * domain without a dot, on which the old regex backtracks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserPayloadValidationBenchmark {
+
+    // The Email value object's pattern before the scanner replaced it
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+        "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"
+    );
+
+    // CreateUserRequest as it was annotated before validation moved to the domain
+    public record AnnotatedCreateUserRequest(
+        @NotBlank(message = "Email is required")
+        @jakarta.validation.constraints.Email(message = "Email must be valid")
+        String email,
+
+        @NotBlank(message = "Name is required")
+        @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+        String name,
+
+        @NotBlank(message = "Password is required")
+        @Size(min = 6, max = 100, message = "Password must be between 6 and 100 characters")
+        String password
+    ) {
+    }
+
+    @Param({"valid", "invalid", "hostile"})
+    public String payload;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private AnnotatedCreateUserRequest request;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = switch (payload) {
+            case "valid" -> new AnnotatedCreateUserRequest(UserFixtures.email(42), UserFixtures.name(42),
+                UserFixtures.PASSWORD);
+            case "invalid" -> new AnnotatedCreateUserRequest("user42@example", UserFixtures.name(42), "short");
+            case "hostile" -> new AnnotatedCreateUserRequest("user42@" + "a".repeat(200), UserFixtures.name(42),
+                UserFixtures.PASSWORD);
+            default -> throw new IllegalArgumentException("Unknown payload: " + payload);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Object annotationsAndDomain() {
+        Object violations = validator.validate(request);
+        String email = request.email();
+        String name = request.name();
+        String password = request.password();
+        boolean domainValid = email != null && !email.trim().isEmpty() && EMAIL_PATTERN.matcher(email).matches()
+            && email.length() <= 255
+            && name != null && !name.trim().isEmpty() && name.length() >= 2 && name.length() <= 100
+            && password != null && !password.trim().isEmpty() && password.length() >= 6;
+        return domainValid ? violations : null;
+    }
+
+    @Benchmark
+    public Object singlePass() {
+        String errors = UserPayloadValidator.createErrors(request.email(), request.name(), request.password());
+        return errors != null ? errors : new Email(request.email());
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return EMAIL_PATTERN.matcher(request.email()).matches();
+    }
+
+    @Benchmark
+    public boolean emailScanner() {
+        return Email.isWellFormed(request.email());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trigram-indexed search against the lowercase-and-scan filter it replaced
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+@State(Scope.Benchmark)
+public class UserSearchBenchmark {
+
+    @Param({"100000", "1000000", "5000000"})
+    public int users;
+
+    // 1/64 of users by name, one user by email, and no user at all
+    @Param({"grace novak", "user4242@", "nobody"})
+    public String term;
+
+    private InMemoryUserRepository repository;
+    private List<User> all;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryUserRepository();
+        all = List.of(UserFixtures.users(users));
+        repository.saveAll(all);
+    }
+
+    @Benchmark
+    public long indexed() {
+        return repository.count(null, term);
+    }
+
+    @Benchmark
+    public long scan() {
+        String needle = term.toLowerCase(Locale.ROOT);
+        return all.stream()
+            .filter(user -> user.getName().toLowerCase(Locale.ROOT).contains(needle)
+                || user.getEmail().getValue().toLowerCase(Locale.ROOT).contains(needle))
+            .count();
+    }
+}
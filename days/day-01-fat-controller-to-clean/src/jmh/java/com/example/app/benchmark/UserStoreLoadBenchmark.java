@@ -0,0 +1,183 @@
+package com.example.app.benchmark;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import com.example.app.after.infrastructure.persistence.JdbcUserRepository;
+import com.example.app.after.infrastructure.persistence.UserCursor;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import com.example.app.after.infrastructure.persistence.wal.WalProperties;
+import com.example.app.after.infrastructure.persistence.wal.WalUserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start: time to get every user back into memory from each durable format.
+ * 
+ * snapshot = chunked binary snapshot, wal = full log replay without a snapshot,
+ * json = Jackson array, sql = H2 file database read in keyset pages.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+@State(Scope.Benchmark)
+public class UserStoreLoadBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"100000", "1000000", "5000000"})
+    public int users;
+
+    @Param({"snapshot", "wal", "json", "sql"})
+    public String source;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Path directory;
+    private DriverManagerDataSource dataSource;
+
+    @Setup
+    public void prepare() throws Exception {
+        directory = Files.createTempDirectory("user-load-");
+        switch (source) {
+            case "snapshot" -> {
+                WalUserRepository repository = openWal();
+                writeUsers(repository);
+                repository.snapshot();
+                repository.destroy();
+            }
+            case "wal" -> {
+                WalUserRepository repository = openWal();
+                writeUsers(repository);
+                repository.destroy();
+            }
+            case "json" -> {
+                try (SequenceWriter writer = objectMapper.writer().writeValuesAsArray(directory.resolve("users.json").toFile())) {
+                    for (int i = 0; i < users; i++) {
+                        writer.write(StoredUser.of(UserFixtures.user(i)));
+                    }
+                }
+            }
+            case "sql" -> {
+                dataSource = new DriverManagerDataSource("jdbc:h2:file:" + directory.resolve("users").toAbsolutePath());
+                new ResourceDatabasePopulator(new ClassPathResource("db/users-schema.sql")).execute(dataSource);
+                writeUsers(new JdbcUserRepository(new JdbcTemplate(dataSource)));
+            }
+            default -> throw new IllegalArgumentException("Unknown source " + source);
+        }
+    }
+
+    @Benchmark
+    public long load() throws Exception {
+        return switch (source) {
+            case "snapshot", "wal" -> {
+                WalUserRepository repository = openWal();
+                long loaded = repository.count(null, null);
+                repository.destroy();
+                yield loaded;
+            }
+            case "json" -> loadJson();
+            case "sql" -> loadSql();
+            default -> throw new IllegalArgumentException("Unknown source " + source);
+        };
+    }
+
+    @TearDown
+    public void cleanUp() throws IOException {
+        if (dataSource != null) {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    private WalUserRepository openWal() {
+        WalProperties properties = new WalProperties(directory, DataSize.ofMegabytes(64), false, Long.MAX_VALUE, 0);
+        return new WalUserRepository(new InMemoryUserRepository(), properties);
+    }
+
+    private void writeUsers(UserRepository repository) {
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            batch.add(UserFixtures.user(i));
+            if (batch.size() == BATCH_SIZE || i == users - 1) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private long loadJson() throws IOException {
+        InMemoryUserRepository memory = new InMemoryUserRepository();
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        try (MappingIterator<StoredUser> stored = objectMapper.readerFor(StoredUser.class)
+                .readValues(directory.resolve("users.json").toFile())) {
+            while (stored.hasNext()) {
+                batch.add(stored.next().toUser());
+                if (batch.size() == BATCH_SIZE) {
+                    memory.saveAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        memory.saveAll(batch);
+        return memory.count(null, null);
+    }
+
+    private long loadSql() {
+        InMemoryUserRepository memory = new InMemoryUserRepository();
+        JdbcUserRepository sql = new JdbcUserRepository(new JdbcTemplate(dataSource));
+        UserCursor after = null;
+        List<User> page;
+        while (!(page = sql.findAllAfter(after, BATCH_SIZE, null, null)).isEmpty()) {
+            page.forEach(memory::restore);
+            after = UserCursor.of(page.get(page.size() - 1));
+        }
+        return memory.count(null, null);
+    }
+
+    public record StoredUser(String id, String email, String name, String passwordHash, UserStatus status,
+                             LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+
+        static StoredUser of(User user) {
+            return new StoredUser(user.getId().getValue(), user.getEmail().getValue(), user.getName(),
+                user.getPasswordHash(), user.getStatus(), user.getCreatedAt(), user.getUpdatedAt(), user.getVersion());
+        }
+
+        User toUser() {
+            return User.reconstitute(UserId.of(id), email, name, passwordHash, status, createdAt, updatedAt, version);
+        }
+    }
+}
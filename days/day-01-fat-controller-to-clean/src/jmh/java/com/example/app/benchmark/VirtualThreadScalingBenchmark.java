@@ -0,0 +1,111 @@
+package com.example.app.benchmark;
+
+import com.example.app.Day01Application;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Concurrency scaling of /api/v2/users on Tomcat's platform thread pool versus
+ * virtual threads, with every repository call delayed to stand in for blocking
+ * persistence. With a pool of T threads and L ms per call, the platform pool
+ * levels off near T / L requests per second; virtual threads keep scaling with
+ * client concurrency.
+ *
+ * Options: --concurrency=50,200,400,800 --persistence-latency-ms=20 --max-threads=200
+ * --users=1000 --warmup=5 --duration=15
+ *
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.main=com.example.app.benchmark.VirtualThreadScalingBenchmark
+ */
+public final class VirtualThreadScalingBenchmark {
+
+    private VirtualThreadScalingBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> concurrencies = List.of(50, 200, 400, 800);
+        long latencyMillis = 20;
+        int maxThreads = 200;
+        List<String> loadArgs = new ArrayList<>(List.of("--users=1000", "--warmup=5", "--duration=15",
+            "--mix=read:70,list:20,update:10"));
+        for (String arg : args) {
+            if (arg.startsWith("--concurrency=")) {
+                concurrencies = Arrays.stream(arg.substring("--concurrency=".length()).split(","))
+                    .map(Integer::valueOf)
+                    .toList();
+            } else if (arg.startsWith("--persistence-latency-ms=")) {
+                latencyMillis = Long.parseLong(arg.substring("--persistence-latency-ms=".length()));
+            } else if (arg.startsWith("--max-threads=")) {
+                maxThreads = Integer.parseInt(arg.substring("--max-threads=".length()));
+            } else {
+                loadArgs.add(arg);
+            }
+        }
+
+        List<UserLoadTest.StackResult> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            String mode = virtualThreads ? "virtual" : "platform";
+            ConfigurableApplicationContext context = start(virtualThreads, maxThreads, latencyMillis);
+            try {
+                String usersUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v2/users";
+                for (int concurrency : concurrencies) {
+                    List<String> runArgs = new ArrayList<>(loadArgs);
+                    runArgs.add("--concurrency=" + concurrency);
+                    try (UserLoadTest test = new UserLoadTest(UserLoadTest.Options.parse(runArgs.toArray(String[]::new)))) {
+                        results.add(test.run(mode, usersUrl, false));
+                    }
+                }
+            } finally {
+                context.close();
+            }
+        }
+
+        System.out.printf("%nRepository latency %d ms, server.tomcat.threads.max=%d%n", latencyMillis, maxThreads);
+        System.out.printf("%-9s %12s %12s %10s %10s %10s%n", "threads", "concurrency", "req/s", "p50 us", "p99 us", "errors");
+        for (UserLoadTest.StackResult result : results) {
+            System.out.printf("%-9s %12d %12.1f %10.1f %10.1f %10d%n", result.stack(), result.concurrency(),
+                result.throughput(), result.p50Micros(), result.p99Micros(), result.errors());
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, int maxThreads, long latencyMillis) {
+        SpringApplication application = new SpringApplication(Day01Application.class);
+        application.addInitializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof UserRepository repository ? delayed(repository, latencyMillis) : bean;
+            }
+        }));
+        return application.run(
+            "--server.port=0",
+            "--server.tomcat.threads.max=" + maxThreads,
+            "--spring.profiles.active=" + (virtualThreads ? "virtual-threads" : ""),
+            "--logging.level.com.example.app=WARN",
+            "--logging.level.org.springframework.web=WARN");
+    }
+
+    /**
+     * Sleeps before every repository call, as a blocking driver round trip would
+     */
+    private static UserRepository delayed(UserRepository repository, long latencyMillis) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class}, (proxy, method, methodArgs) -> {
+                if (method.getDeclaringClass() != Object.class) {
+                    Thread.sleep(latencyMillis);
+                }
+                try {
+                    return method.invoke(repository, methodArgs);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
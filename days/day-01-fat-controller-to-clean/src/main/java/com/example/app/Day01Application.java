@@ -2,6 +2,7 @@ package com.example.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * ✅ SPRING BOOT APPLICATION - DAY 1
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Main application class for Day 1: Fat Controller to Clean Architecture
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class Day01Application {
 
     public static void main(String[] args) {
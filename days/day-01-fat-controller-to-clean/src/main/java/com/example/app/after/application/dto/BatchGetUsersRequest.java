@@ -0,0 +1,23 @@
+package com.example.app.after.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * ✅ BATCH GET USERS REQUEST DTO
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Immutable record
+ * - Bounded batch size
+ * - Bean validation on every id
+ */
+public record BatchGetUsersRequest(
+    @NotNull(message = "Ids are required")
+    @Size(max = 1000, message = "At most 1000 ids per request")
+    List<@NotBlank(message = "Ids must not be blank") String> ids
+) {
+    // ✅ IMPROVEMENT: Immutable record with validation
+}
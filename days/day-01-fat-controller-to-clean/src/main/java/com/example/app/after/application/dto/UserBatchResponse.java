@@ -0,0 +1,18 @@
+package com.example.app.after.application.dto;
+
+import java.util.List;
+
+/**
+ * ✅ USER BATCH RESPONSE DTO
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Immutable record
+ * - Users in request order
+ * - Unknown ids reported separately instead of failing the batch
+ */
+public record UserBatchResponse(
+    List<UserResponse> users,
+    List<String> missing
+) {
+    // ✅ IMPROVEMENT: Immutable record for multi-get responses
+}
@@ -0,0 +1,19 @@
+package com.example.app.after.application.dto;
+
+import java.util.List;
+
+/**
+ * ✅ USER CURSOR PAGE RESPONSE DTO
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Immutable record
+ * - Opaque next-cursor token for keyset pagination
+ * - Stable results between calls
+ */
+public record UserCursorPageResponse(
+    List<UserResponse> users,
+    String nextCursor,
+    boolean hasNext
+) {
+    // ✅ IMPROVEMENT: Immutable record for keyset-paginated responses
+}
@@ -0,0 +1,22 @@
+package com.example.app.after.application.dto;
+
+import java.util.List;
+
+/**
+ * ✅ USER IMPORT RESPONSE DTO
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Immutable record
+ * - Totals for the whole import
+ * - One error per rejected row, so callers can fix and resend only those
+ */
+public record UserImportResponse(
+    long total,
+    long imported,
+    long failed,
+    List<RowError> errors
+) {
+
+    public record RowError(long row, String email, String message) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.app.after.application.dto;
+
+/**
+ * ✅ USER IMPORT ROW
+ * 
+ * One record of a bulk import body: the parsed request, or why it could not
+ * be parsed. Rows are numbered from 1 in the order they appear in the body.
+ */
+public record UserImportRow(
+    long row,
+    CreateUserRequest request,
+    String error
+) {
+
+    public static UserImportRow of(long row, CreateUserRequest request) {
+        return new UserImportRow(row, request, null);
+    }
+
+    public static UserImportRow invalid(long row, String error) {
+        return new UserImportRow(row, null, error);
+    }
+}
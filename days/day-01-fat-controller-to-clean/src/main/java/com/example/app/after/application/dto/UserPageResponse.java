@@ -0,0 +1,21 @@
+package com.example.app.after.application.dto;
+
+import java.util.List;
+
+/**
+ * ✅ USER PAGE RESPONSE DTO
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Immutable record
+ * - Page content and total from one query
+ * - Explicit paging metadata
+ */
+public record UserPageResponse(
+    List<UserResponse> users,
+    int page,
+    int size,
+    long total,
+    boolean hasNext
+) {
+    // ✅ IMPROVEMENT: Immutable record for offset-paginated responses
+}
@@ -0,0 +1,154 @@
+package com.example.app.after.application.service;
+
+import com.example.app.after.application.dto.CreateUserRequest;
+import com.example.app.after.application.dto.UpdateUserRequest;
+import com.example.app.after.application.dto.UserResponse;
+import com.example.app.after.application.mapper.UserMapper;
+import com.example.app.after.application.service.UserApplicationService.EmailAlreadyExistsException;
+import com.example.app.after.application.service.UserApplicationService.UserNotFoundException;
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.ReactiveUserRepository;
+import com.example.app.shared.domain.DomainEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * ✅ REACTIVE USER APPLICATION SERVICE
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Same use cases and errors as UserApplicationService, composed as Mono/Flux
+ * - Listing streams responses as the repository emits them
+ * - Updates resubscribed (re-read, re-applied) on version conflicts, per UserRetryProperties
+ * - Domain events handed to the DomainEventPublisher after every successful save
+ * - Password hashing waited for on a bounded-elastic thread, never on the event loop
+ * - Active with the "reactive" profile
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserApplicationService {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserMapper userMapper;
+    private final Retry retryOnConflict;
+    private final DomainEventPublisher eventPublisher;
+    private final PasswordHasher passwordHasher;
+
+    public ReactiveUserApplicationService(ReactiveUserRepository userRepository, UserMapper userMapper,
+                                          UserRetryProperties retryProperties, DomainEventPublisher eventPublisher,
+                                          PasswordHasher passwordHasher) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+        this.passwordHasher = passwordHasher;
+        this.retryOnConflict = Retry.backoff(retryProperties.maxAttempts() - 1, retryProperties.initialBackoff())
+            .maxBackoff(retryProperties.maxBackoff())
+            .jitter(1.0)
+            .filter(OptimisticLockingFailureException.class::isInstance)
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public Mono<UserResponse> createUser(CreateUserRequest request) {
+        return Mono.fromCallable(() -> User.create(request.email(), request.name(), request.password(), passwordHasher))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(user -> userRepository.saveIfEmailAvailable(user)
+                .flatMap(saved -> saved
+                    ? Mono.fromCallable(() -> publishEvents(user)).map(userMapper::toResponse)
+                    : Mono.error(new EmailAlreadyExistsException("Email already exists: " + request.email()))));
+    }
+
+    public Mono<UserResponse> getUserById(String id) {
+        return findUser(id).map(userMapper::toResponse);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Every matching user, emitted as the subscriber requests them
+     */
+    public Flux<UserResponse> streamUsers(String status, String search) {
+        return userRepository.findAll(status, search).map(userMapper::toResponse);
+    }
+
+    public Mono<Long> countUsers(String status, String search) {
+        return userRepository.count(status, search);
+    }
+
+    public Mono<UserResponse> updateUser(String id, UpdateUserRequest request) {
+        return findUser(id)
+            .flatMap(user -> checkEmailOwner(user.getId(), request.email()).thenReturn(user))
+            .flatMap(user -> {
+                if (request.email() != null) {
+                    user.updateEmail(request.email());
+                }
+                if (request.name() != null) {
+                    user.updateName(request.name());
+                }
+                if (request.status() != null) {
+                    user.updateStatus(UserStatus.valueOf(request.status()));
+                }
+                return userRepository.save(user);
+            })
+            .map(this::publishEvents)
+            .retryWhen(retryOnConflict)
+            .map(userMapper::toResponse);
+    }
+
+    public Mono<Void> deleteUser(String id) {
+        return findUser(id)
+            .flatMap(user -> {
+                user.delete();
+                return userRepository.save(user);
+            })
+            .map(this::publishEvents)
+            .retryWhen(retryOnConflict)
+            .then();
+    }
+
+    public Mono<UserResponse> activateUser(String id) {
+        return findUser(id)
+            .flatMap(user -> {
+                user.activate();
+                return userRepository.save(user);
+            })
+            .map(this::publishEvents)
+            .retryWhen(retryOnConflict)
+            .map(userMapper::toResponse);
+    }
+
+    public Mono<UserResponse> deactivateUser(String id) {
+        return findUser(id)
+            .flatMap(user -> {
+                user.deactivate();
+                return userRepository.save(user);
+            })
+            .map(this::publishEvents)
+            .retryWhen(retryOnConflict)
+            .map(userMapper::toResponse);
+    }
+
+    private User publishEvents(User user) {
+        eventPublisher.publish(user.getDomainEvents());
+        return user;
+    }
+
+    private Mono<User> findUser(String id) {
+        return Mono.fromCallable(() -> UserId.of(id))
+            .flatMap(userRepository::findById)
+            .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with id: " + id)));
+    }
+
+    private Mono<Void> checkEmailOwner(UserId userId, String email) {
+        if (email == null) {
+            return Mono.empty();
+        }
+        return userRepository.findByEmail(email)
+            .filter(owner -> !owner.getId().equals(userId))
+            .flatMap(owner -> Mono.error(new EmailAlreadyExistsException("Email already exists: " + email)));
+    }
+}
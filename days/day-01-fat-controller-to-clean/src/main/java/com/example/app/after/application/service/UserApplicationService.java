@@ -1,18 +1,43 @@
 package com.example.app.after.application.service;
 
 import com.example.app.after.application.dto.CreateUserRequest;
+import com.example.app.after.application.dto.UserBatchResponse;
 import com.example.app.after.application.dto.UpdateUserRequest;
+import com.example.app.after.application.dto.UserCursorPageResponse;
+import com.example.app.after.application.dto.UserPageResponse;
 import com.example.app.after.application.dto.UserResponse;
 import com.example.app.after.application.mapper.UserMapper;
+import com.example.app.after.domain.PasswordHasher;
 import com.example.app.after.domain.User;
 import com.example.app.after.domain.UserStatus;
 import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.UserCursor;
+import com.example.app.after.infrastructure.persistence.UserPage;
 import com.example.app.after.infrastructure.persistence.UserRepository;
+import com.example.app.shared.domain.DomainEventPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * ✅ APPLICATION SERVICE - AFTER REFACTORING
@@ -24,41 +49,80 @@ import java.util.stream.Collectors;
  * - Clean separation of concerns
  * - Constructor injection
  * - Follows SOLID principles
+ * - Optimistic concurrency: updates replay read-modify-write when the stored
+ *   version moved underneath them, per UserRetryProperties, each attempt in its
+ *   own transaction
+ * - Domain events drained after every successful save and handed to the DomainEventPublisher
+ * - New users' passwords hashed by the PasswordHasher before a transaction (and its
+ *   connection) is taken
  */
 @Service
 @Transactional
 public class UserApplicationService {
 
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserRetryProperties retryProperties;
+    private final DomainEventPublisher eventPublisher;
+    private final PasswordHasher passwordHasher;
+    private final TransactionOperations transactions;
+
+    @Autowired
+    public UserApplicationService(UserRepository userRepository, UserMapper userMapper,
+                                  UserRetryProperties retryProperties, DomainEventPublisher eventPublisher,
+                                  PasswordHasher passwordHasher, ObjectProvider<TransactionOperations> transactions) {
+        this(userRepository, userMapper, retryProperties, eventPublisher, passwordHasher,
+            transactions.getIfAvailable(TransactionOperations::withoutTransaction));
+    }
 
-    public UserApplicationService(UserRepository userRepository, UserMapper userMapper) {
+    public UserApplicationService(UserRepository userRepository, UserMapper userMapper,
+                                  UserRetryProperties retryProperties, DomainEventPublisher eventPublisher,
+                                  PasswordHasher passwordHasher, TransactionOperations transactions) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.retryProperties = retryProperties;
+        this.eventPublisher = eventPublisher;
+        this.passwordHasher = passwordHasher;
+        this.transactions = transactions;
     }
 
     /**
-     * ✅ IMPROVEMENT: Single responsibility method
+     * ✅ IMPROVEMENT: Single responsibility method; only the save runs in a transaction,
+     * the slow password hash happens before it
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse createUser(CreateUserRequest request) {
         // ✅ IMPROVEMENT: Domain object creation
         User user = User.create(
             request.email(),
             request.name(),
-            request.password()
+            request.password(),
+            passwordHasher
         );
 
-        // ✅ IMPROVEMENT: Domain object persistence
-        User savedUser = userRepository.save(user);
+        // ✅ IMPROVEMENT: Atomic uniqueness check and persistence
+        transactions.executeWithoutResult(status -> {
+            if (!userRepository.saveIfEmailAvailable(user)) {
+                throw new EmailAlreadyExistsException("Email already exists: " + request.email());
+            }
+            eventPublisher.publish(user.getDomainEvents());
+        });
 
         // ✅ IMPROVEMENT: Clean mapping to DTO
-        return userMapper.toResponse(savedUser);
+        return userMapper.toResponse(user);
     }
 
     /**
      * ✅ IMPROVEMENT: Single responsibility method
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse updateUser(String id, UpdateUserRequest request) {
+        return retryOnConflict(() -> applyUpdate(id, request));
+    }
+
+    private UserResponse applyUpdate(String id, UpdateUserRequest request) {
         // ✅ IMPROVEMENT: Domain object retrieval
         UserId userId = UserId.of(id);
         User user = userRepository.findById(userId)
@@ -66,6 +130,11 @@ public class UserApplicationService {
 
         // ✅ IMPROVEMENT: Domain object update
         if (request.email() != null) {
+            userRepository.findByEmail(request.email())
+                .filter(owner -> !owner.getId().equals(userId))
+                .ifPresent(owner -> {
+                    throw new EmailAlreadyExistsException("Email already exists: " + request.email());
+                });
             user.updateEmail(request.email());
         }
 
@@ -79,6 +148,7 @@ public class UserApplicationService {
 
         // ✅ IMPROVEMENT: Domain object persistence
         User updatedUser = userRepository.save(user);
+        eventPublisher.publish(updatedUser.getDomainEvents());
 
         // ✅ IMPROVEMENT: Clean mapping to DTO
         return userMapper.toResponse(updatedUser);
@@ -98,6 +168,52 @@ public class UserApplicationService {
         return userMapper.toResponse(user);
     }
 
+    /**
+     * ✅ IMPROVEMENT: Single user rendered by the caller's view, which gets the user's id and
+     * version first and maps the user only if it has nothing for that version yet
+     */
+    @Transactional(readOnly = true)
+    public <T> T getUserById(String id, VersionedUserView<T> view) {
+        UserId userId = UserId.of(id);
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        return view.render(user.getId().getValue(), user.getVersion(), () -> userMapper.toResponse(user));
+    }
+
+    /**
+     * ✅ IMPROVEMENT: One repository lookup for the whole batch; users come back in request
+     * order (repeated ids once), unknown and malformed ids are listed as missing
+     */
+    @Transactional(readOnly = true)
+    public UserBatchResponse getUsersByIds(List<String> ids) {
+        LinkedHashSet<String> requested = new LinkedHashSet<>(ids);
+        List<UserId> userIds = new ArrayList<>(requested.size());
+        for (String id : requested) {
+            try {
+                userIds.add(UserId.of(id));
+            } catch (IllegalArgumentException e) {
+                // Cannot exist; reported as missing below
+            }
+        }
+
+        Map<String, User> found = new HashMap<>(userIds.size() * 2);
+        for (User user : userRepository.findAllById(userIds)) {
+            found.put(user.getId().getValue(), user);
+        }
+
+        List<UserResponse> users = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>(requested.size() - found.size());
+        for (String id : requested) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(userMapper.toResponse(user));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new UserBatchResponse(users, missing);
+    }
+
     /**
      * ✅ IMPROVEMENT: Single responsibility method
      */
@@ -112,56 +228,174 @@ public class UserApplicationService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * ✅ IMPROVEMENT: Page with total from a single repository traversal
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse getUserPage(int page, int size, String status, String search) {
+        UserPage userPage = userRepository.findPage(page, size, status, search);
+
+        return new UserPageResponse(
+            userPage.users().stream().map(userMapper::toResponse).collect(Collectors.toList()),
+            page,
+            size,
+            userPage.total(),
+            (long) (page + 1) * size < userPage.total()
+        );
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Keyset pagination, each page costs O(log N + size)
+     */
+    @Transactional(readOnly = true)
+    public UserCursorPageResponse getUsersAfter(String cursor, int size, String status, String search) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        UserCursor after = cursor == null || cursor.isEmpty() ? null : UserCursor.decode(cursor);
+
+        // ✅ IMPROVEMENT: Fetch one extra user to know whether another page exists
+        List<User> users = userRepository.findAllAfter(after, size + 1, status, search);
+        boolean hasNext = users.size() > size;
+        List<User> page = hasNext ? users.subList(0, size) : users;
+
+        String nextCursor = hasNext ? UserCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new UserCursorPageResponse(
+            page.stream().map(userMapper::toResponse).collect(Collectors.toList()),
+            nextCursor,
+            hasNext
+        );
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Every matching user, read in keyset pages as the stream is consumed,
+     * so at most one page is held in memory however many users there are
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Stream<UserResponse> streamUsers(String status, String search) {
+        Iterator<User> users = new Iterator<>() {
+            private List<User> page = userRepository.findAllAfter(null, STREAM_PAGE_SIZE, status, search);
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index < page.size()) {
+                    return true;
+                }
+                if (page.size() < STREAM_PAGE_SIZE) {
+                    return false;
+                }
+                page = userRepository.findAllAfter(UserCursor.of(page.get(page.size() - 1)), STREAM_PAGE_SIZE, status, search);
+                index = 0;
+                return !page.isEmpty();
+            }
+
+            @Override
+            public User next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(users, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .map(userMapper::toResponse);
+    }
+
     /**
      * ✅ IMPROVEMENT: Single responsibility method
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteUser(String id) {
-        // ✅ IMPROVEMENT: Domain object retrieval
-        UserId userId = UserId.of(id);
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        retryOnConflict(() -> {
+            // ✅ IMPROVEMENT: Domain object retrieval
+            UserId userId = UserId.of(id);
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
-        // ✅ IMPROVEMENT: Domain object deletion
-        user.delete();
-        userRepository.save(user);
+            // ✅ IMPROVEMENT: Domain object deletion
+            user.delete();
+            User deletedUser = userRepository.save(user);
+            eventPublisher.publish(deletedUser.getDomainEvents());
+            return deletedUser;
+        });
     }
 
     /**
      * ✅ IMPROVEMENT: Single responsibility method
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse activateUser(String id) {
-        // ✅ IMPROVEMENT: Domain object retrieval
-        UserId userId = UserId.of(id);
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        return retryOnConflict(() -> {
+            // ✅ IMPROVEMENT: Domain object retrieval
+            UserId userId = UserId.of(id);
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
-        // ✅ IMPROVEMENT: Domain object activation
-        user.activate();
+            // ✅ IMPROVEMENT: Domain object activation
+            user.activate();
 
-        // ✅ IMPROVEMENT: Domain object persistence
-        User activatedUser = userRepository.save(user);
+            // ✅ IMPROVEMENT: Domain object persistence
+            User activatedUser = userRepository.save(user);
+            eventPublisher.publish(activatedUser.getDomainEvents());
 
-        // ✅ IMPROVEMENT: Clean mapping to DTO
-        return userMapper.toResponse(activatedUser);
+            // ✅ IMPROVEMENT: Clean mapping to DTO
+            return userMapper.toResponse(activatedUser);
+        });
     }
 
     /**
      * ✅ IMPROVEMENT: Single responsibility method
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse deactivateUser(String id) {
-        // ✅ IMPROVEMENT: Domain object retrieval
-        UserId userId = UserId.of(id);
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        return retryOnConflict(() -> {
+            // ✅ IMPROVEMENT: Domain object retrieval
+            UserId userId = UserId.of(id);
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
-        // ✅ IMPROVEMENT: Domain object deactivation
-        user.deactivate();
+            // ✅ IMPROVEMENT: Domain object deactivation
+            user.deactivate();
 
-        // ✅ IMPROVEMENT: Domain object persistence
-        User deactivatedUser = userRepository.save(user);
+            // ✅ IMPROVEMENT: Domain object persistence
+            User deactivatedUser = userRepository.save(user);
+            eventPublisher.publish(deactivatedUser.getDomainEvents());
 
-        // ✅ IMPROVEMENT: Clean mapping to DTO
-        return userMapper.toResponse(deactivatedUser);
+            // ✅ IMPROVEMENT: Clean mapping to DTO
+            return userMapper.toResponse(deactivatedUser);
+        });
+    }
+
+    /**
+     * ✅ IMPROVEMENT: No lock around read-modify-write; a save that finds the user at a newer
+     * version than it was read at fails, and the whole attempt is replayed on the fresh state.
+     * Each attempt is its own transaction: the failed one rolls back and releases its
+     * connection before the back-off, and the replay reads what the winner committed.
+     */
+    private <T> T retryOnConflict(Supplier<T> attempt) {
+        for (int attempts = 1; ; attempts++) {
+            try {
+                return transactions.execute(status -> attempt.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempts >= retryProperties.maxAttempts()) {
+                    throw e;
+                }
+                LockSupport.parkNanos(retryProperties.backoff(attempts).toNanos());
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * A rendering of one user that can be reused for as long as the user stays at the same version
+     */
+    @FunctionalInterface
+    public interface VersionedUserView<T> {
+        T render(String id, long version, Supplier<UserResponse> response);
     }
 
     /**
@@ -172,4 +406,13 @@ public class UserApplicationService {
             super(message);
         }
     }
+
+    /**
+     * ✅ IMPROVEMENT: Custom exception for email uniqueness violations
+     */
+    public static class EmailAlreadyExistsException extends RuntimeException {
+        public EmailAlreadyExistsException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.app.after.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * ✅ BULK IMPORT SETTINGS
+ * 
+ * Tuning for {@link UserImportService}.
+ *
+ * @param batchSize   rows validated, checked for email conflicts and saved together
+ * @param parallelism validation threads; 0 uses one per available processor
+ */
+@ConfigurationProperties(prefix = "users.import")
+public record UserImportProperties(
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("0") int parallelism
+) {
+
+    public int threads() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
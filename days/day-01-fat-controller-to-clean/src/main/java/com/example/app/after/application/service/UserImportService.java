@@ -0,0 +1,256 @@
+package com.example.app.after.application.service;
+
+import com.example.app.after.application.dto.CreateUserRequest;
+import com.example.app.after.application.dto.UserImportResponse;
+import com.example.app.after.application.dto.UserImportResponse.RowError;
+import com.example.app.after.application.dto.UserImportRow;
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserInvariantException;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import com.example.app.after.infrastructure.security.BoundedPasswordHasher;
+import com.example.app.shared.domain.DomainEvent;
+import com.example.app.shared.domain.DomainEventPublisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ BULK USER IMPORT
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Rows consumed as they are parsed, one batch in memory at a time
+ * - Rows validated once, by the domain, in parallel on a bounded pool; password hashes wait
+ *   for room on the shared hashing pool instead of being rejected like interactive signups
+ * - One repository round trip per batch for email uniqueness instead of one per row
+ * - Accepted users persisted with a single saveAll per batch
+ * - A per-row error report instead of failing the whole import
+ * - UserCreatedEvents of a batch published together once it is stored
+ * - Each batch stored and its events published in one transaction, when a transaction
+ *   manager is configured, so a transactional outbox never misses or invents an event
+ */
+@Service
+public class UserImportService implements DisposableBean {
+
+    private final UserRepository userRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final TransactionOperations transactions;
+    private final PasswordHasher passwordHasher;
+    private final int batchSize;
+    private final int threads;
+    private final ExecutorService validators;
+
+    @Autowired
+    public UserImportService(UserRepository userRepository, UserImportProperties properties,
+                             DomainEventPublisher eventPublisher, ObjectProvider<TransactionOperations> transactions,
+                             BoundedPasswordHasher passwordHasher) {
+        this(userRepository, properties, eventPublisher,
+            transactions.getIfAvailable(TransactionOperations::withoutTransaction), passwordHasher::hashWhenAdmitted);
+    }
+
+    public UserImportService(UserRepository userRepository, UserImportProperties properties,
+                             DomainEventPublisher eventPublisher, TransactionOperations transactions,
+                             PasswordHasher passwordHasher) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
+        this.passwordHasher = passwordHasher;
+        this.batchSize = properties.batchSize();
+        this.threads = properties.threads();
+
+        // Bounded queue; when concurrent imports fill it, the importing thread validates its own slice
+        AtomicInteger sequence = new AtomicInteger();
+        this.validators = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * 4),
+            runnable -> {
+                Thread thread = new Thread(runnable, "user-import-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public UserImportResponse importUsers(Iterator<UserImportRow> rows) {
+        Report report = new Report();
+        List<UserImportRow> batch = new ArrayList<>(batchSize);
+        while (rows.hasNext()) {
+            batch.add(rows.next());
+            if (batch.size() == batchSize) {
+                importBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, report);
+        }
+        report.errors.sort(Comparator.comparingLong(RowError::row));
+        return new UserImportResponse(report.total, report.imported, report.errors.size(), report.errors);
+    }
+
+    @Override
+    public void destroy() {
+        validators.shutdownNow();
+    }
+
+    private void importBatch(List<UserImportRow> batch, Report report) {
+        report.total += batch.size();
+        User[] users = validate(batch, report);
+
+        // ✅ IMPROVEMENT: Duplicates inside the batch, then one lookup for everything already stored
+        Set<String> batchEmails = new HashSet<>();
+        List<String> emails = new ArrayList<>(batch.size());
+        for (int i = 0; i < users.length; i++) {
+            if (users[i] == null) {
+                continue;
+            }
+            String email = users[i].getEmail().getValue();
+            if (batchEmails.add(email.toLowerCase(Locale.ROOT))) {
+                emails.add(email);
+            } else {
+                report.reject(batch.get(i), "Duplicate email in import: " + email);
+                users[i] = null;
+            }
+        }
+        Set<String> existing = userRepository.findExistingEmails(emails);
+
+        List<User> accepted = new ArrayList<>(emails.size());
+        List<UserImportRow> acceptedRows = new ArrayList<>(emails.size());
+        for (int i = 0; i < users.length; i++) {
+            if (users[i] == null) {
+                continue;
+            }
+            String email = users[i].getEmail().getValue();
+            if (existing.contains(email.toLowerCase(Locale.ROOT))) {
+                report.reject(batch.get(i), "Email already exists: " + email);
+            } else {
+                accepted.add(users[i]);
+                acceptedRows.add(batch.get(i));
+            }
+        }
+        save(accepted, acceptedRows, report);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Contiguous slices of the batch validated concurrently; rejected rows are
+     * reported and left null
+     */
+    private User[] validate(List<UserImportRow> batch, Report report) {
+        User[] users = new User[batch.size()];
+        String[] errors = new String[batch.size()];
+        int sliceSize = (batch.size() + threads - 1) / threads;
+
+        List<CompletableFuture<Void>> slices = new ArrayList<>(threads);
+        for (int from = 0; from < batch.size(); from += sliceSize) {
+            int start = from;
+            int end = Math.min(from + sliceSize, batch.size());
+            slices.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    try {
+                        users[i] = create(batch.get(i));
+                    } catch (IllegalArgumentException e) {
+                        errors[i] = e.getMessage();
+                    }
+                }
+            }, validators));
+        }
+        CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).join();
+
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                report.reject(batch.get(i), errors[i]);
+            }
+        }
+        return users;
+    }
+
+    private User create(UserImportRow row) {
+        if (row.error() != null) {
+            throw new IllegalArgumentException(row.error());
+        }
+        CreateUserRequest request = row.request();
+        return User.create(request.email(), request.name(), request.password(), passwordHasher);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: One saveAll per batch. If an email was taken since the lookup, fall back to
+     * per-row conditional inserts to find out which rows lost the race; rows the failed batch
+     * already stored (versioned, or found by id in one lookup) are counted, not inserted again.
+     * Every save commits together with the events it publishes. An overloaded store rejects the
+     * batch with a TaskRejectedException, which aborts the import instead of retrying row by row.
+     */
+    private void save(List<User> users, List<UserImportRow> rows, Report report) {
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            transactions.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                publishEvents(users);
+            });
+            report.imported += users.size();
+        } catch (UserInvariantException e) {
+            // A transaction rolled the whole batch back; without one, part of it may be stored
+            Set<UserId> stored = new HashSet<>();
+            for (User user : userRepository.findAllById(users.stream().map(User::getId).toList())) {
+                stored.add(user.getId());
+            }
+            List<User> alreadyStored = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                if (user.getVersion() > 0 || stored.contains(user.getId())) {
+                    report.imported++;
+                    alreadyStored.add(user);
+                } else if (Boolean.TRUE.equals(transactions.execute(status -> saveIfEmailAvailable(user)))) {
+                    report.imported++;
+                } else {
+                    report.reject(rows.get(i), "Email already exists: " + user.getEmail().getValue());
+                }
+            }
+            publishEvents(alreadyStored);
+        }
+    }
+
+    private boolean saveIfEmailAvailable(User user) {
+        if (!userRepository.saveIfEmailAvailable(user)) {
+            return false;
+        }
+        eventPublisher.publish(user.getDomainEvents());
+        return true;
+    }
+
+    private void publishEvents(List<User> users) {
+        List<DomainEvent> events = new ArrayList<>(users.size());
+        for (User user : users) {
+            events.addAll(user.getDomainEvents());
+        }
+        eventPublisher.publish(events);
+    }
+
+    private static final class Report {
+        private long total;
+        private long imported;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void reject(UserImportRow row, String message) {
+            String email = row.request() != null ? row.request().email() : null;
+            errors.add(new RowError(row.row(), email, message));
+        }
+    }
+}
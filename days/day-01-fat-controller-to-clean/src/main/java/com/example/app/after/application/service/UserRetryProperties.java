@@ -0,0 +1,41 @@
+package com.example.app.after.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ✅ RETRY POLICY FOR CONCURRENT USER UPDATES
+ * 
+ * How often a read-modify-write that lost a compare-and-set race is replayed
+ * against the fresh state, and how long to back off in between.
+ *
+ * @param maxAttempts    attempts in total, including the first; 1 disables retries
+ * @param initialBackoff upper bound of the pause before the first retry, doubled for each further one
+ * @param maxBackoff     cap on that upper bound
+ */
+@ConfigurationProperties(prefix = "users.retry")
+public record UserRetryProperties(
+    @DefaultValue("3") int maxAttempts,
+    @DefaultValue("5ms") Duration initialBackoff,
+    @DefaultValue("100ms") Duration maxBackoff
+) {
+
+    public UserRetryProperties {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("users.retry.max-attempts must be at least 1");
+        }
+    }
+
+    /**
+     * Full jitter: a random pause up to the exponential bound, so writers that collided
+     * once do not collide again in lockstep
+     */
+    public Duration backoff(int retry) {
+        long bound = initialBackoff.toNanos() << Math.min(retry - 1, 20);
+        long cap = Math.min(bound, maxBackoff.toNanos());
+        return cap <= 0 ? Duration.ZERO : Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+}
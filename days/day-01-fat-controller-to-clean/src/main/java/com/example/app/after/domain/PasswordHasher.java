@@ -0,0 +1,13 @@
+package com.example.app.after.domain;
+
+/**
+ * Port for turning a raw password into the hash a user stores.
+ *
+ * Called by {@link User#create} once the password has passed the domain rules;
+ * implementations may be slow on purpose and may refuse work when saturated.
+ */
+@FunctionalInterface
+public interface PasswordHasher {
+
+    String hash(String password);
+}
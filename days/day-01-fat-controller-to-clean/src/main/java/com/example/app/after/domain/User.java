@@ -6,6 +6,7 @@ import com.example.app.shared.domain.Entity;
 import com.example.app.shared.domain.DomainEvent;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,16 +42,21 @@ public class User extends Entity<UserId> {
     }
 
     /**
-     * ✅ IMPROVEMENT: Factory method to create a new user
+     * ✅ IMPROVEMENT: Factory method to create a new user; every field is validated in one
+     * pass that reports all failures, and the password is hashed only once they all passed
      */
-    public static User create(String email, String name, String password) {
+    public static User create(String email, String name, String password, PasswordHasher passwordHasher) {
+        String errors = UserPayloadValidator.createErrors(email, name, password);
+        if (errors != null) {
+            throw new IllegalArgumentException(errors);
+        }
         User user = new User(UserId.generate());
         user.email = new Email(email);
-        user.name = validateName(name);
-        user.passwordHash = hashPassword(password);
+        user.name = name.trim();
+        user.passwordHash = passwordHasher.hash(password);
         user.status = UserStatus.ACTIVE;
-        user.createdAt = LocalDateTime.now();
-        user.updatedAt = LocalDateTime.now();
+        user.createdAt = now();
+        user.updatedAt = now();
         
         // ✅ IMPROVEMENT: Domain event
         user.addDomainEvent(new UserCreatedEvent(user.getId(), user.getEmail(), user.getName()));
@@ -59,38 +65,55 @@ public class User extends Entity<UserId> {
     }
 
     /**
-     * ✅ IMPROVEMENT: Domain validation
+     * ✅ IMPROVEMENT: Factory method to rebuild a persisted user at a stored version (no domain events)
      */
-    private static String validateName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Name cannot be null or empty");
-        }
-        
-        if (name.length() < 2) {
-            throw new IllegalArgumentException("Name must be at least 2 characters");
-        }
-        
-        if (name.length() > 100) {
-            throw new IllegalArgumentException("Name cannot exceed 100 characters");
-        }
-        
-        return name.trim();
+    public static User reconstitute(UserId id, String email, String name, String passwordHash,
+                                    UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                    long version) {
+        User user = new User(id);
+        user.email = new Email(email);
+        user.name = name;
+        user.passwordHash = passwordHash;
+        user.status = status;
+        user.createdAt = createdAt;
+        user.updatedAt = updatedAt;
+        user.setVersion(version);
+        return user;
     }
 
     /**
-     * ✅ IMPROVEMENT: Password hashing
+     * ✅ IMPROVEMENT: Independent copy of the current state and version (no domain events),
+     * for stores that must not share the instance callers go on mutating
      */
-    private static String hashPassword(String password) {
-        if (password == null || password.trim().isEmpty()) {
-            throw new IllegalArgumentException("Password cannot be null or empty");
-        }
-        
-        if (password.length() < 6) {
-            throw new IllegalArgumentException("Password must be at least 6 characters");
+    public User copy() {
+        User copy = new User(getId());
+        copy.email = email;
+        copy.name = name;
+        copy.passwordHash = passwordHash;
+        copy.status = status;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.setVersion(getVersion());
+        return copy;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Timestamps at the microsecond precision SQL TIMESTAMP columns keep, so a
+     * user reads back from any store exactly as it was returned when written
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Domain validation, same rules as {@link UserPayloadValidator}
+     */
+    private static String validateName(String name) {
+        String error = UserPayloadValidator.nameError(name);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
-        
-        // In a real application, use BCrypt or similar
-        return String.valueOf(password.hashCode());
+        return name.trim();
     }
 
     /**
@@ -98,12 +121,12 @@ public class User extends Entity<UserId> {
      */
     public void updateEmail(String newEmail) {
         if (status == UserStatus.DELETED) {
-            throw new IllegalStateException("Cannot update deleted user");
+            throw new UserInvariantException("Cannot update deleted user");
         }
         
         Email oldEmail = this.email;
         this.email = new Email(newEmail);
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
         
         // ✅ IMPROVEMENT: Domain event
         addDomainEvent(new UserEmailUpdatedEvent(this.getId(), oldEmail, this.email));
@@ -114,12 +137,12 @@ public class User extends Entity<UserId> {
      */
     public void updateName(String newName) {
         if (status == UserStatus.DELETED) {
-            throw new IllegalStateException("Cannot update deleted user");
+            throw new UserInvariantException("Cannot update deleted user");
         }
         
         String oldName = this.name;
         this.name = validateName(newName);
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
         
         // ✅ IMPROVEMENT: Domain event
         addDomainEvent(new UserNameUpdatedEvent(this.getId(), oldName, this.name));
@@ -130,12 +153,12 @@ public class User extends Entity<UserId> {
      */
     public void updateStatus(UserStatus newStatus) {
         if (status == UserStatus.DELETED) {
-            throw new IllegalStateException("Cannot update deleted user");
+            throw new UserInvariantException("Cannot update deleted user");
         }
         
         UserStatus oldStatus = this.status;
         this.status = newStatus;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
         
         // ✅ IMPROVEMENT: Domain event
         addDomainEvent(new UserStatusUpdatedEvent(this.getId(), oldStatus, this.status));
@@ -146,15 +169,15 @@ public class User extends Entity<UserId> {
      */
     public void activate() {
         if (status == UserStatus.ACTIVE) {
-            throw new IllegalStateException("User is already active");
+            throw new UserInvariantException("User is already active");
         }
         
         if (status == UserStatus.DELETED) {
-            throw new IllegalStateException("Cannot activate deleted user");
+            throw new UserInvariantException("Cannot activate deleted user");
         }
         
         this.status = UserStatus.ACTIVE;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
         
         // ✅ IMPROVEMENT: Domain event
         addDomainEvent(new UserActivatedEvent(this.getId()));
@@ -165,15 +188,15 @@ public class User extends Entity<UserId> {
      */
     public void deactivate() {
         if (status == UserStatus.INACTIVE) {
-            throw new IllegalStateException("User is already inactive");
+            throw new UserInvariantException("User is already inactive");
         }
         
         if (status == UserStatus.DELETED) {
-            throw new IllegalStateException("Cannot deactivate deleted user");
+            throw new UserInvariantException("Cannot deactivate deleted user");
         }
         
         this.status = UserStatus.INACTIVE;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
         
         // ✅ IMPROVEMENT: Domain event
         addDomainEvent(new UserDeactivatedEvent(this.getId()));
@@ -184,11 +207,11 @@ public class User extends Entity<UserId> {
      */
     public void delete() {
         if (status == UserStatus.DELETED) {
-            throw new IllegalStateException("User is already deleted");
+            throw new UserInvariantException("User is already deleted");
         }
         
         this.status = UserStatus.DELETED;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
         
         // ✅ IMPROVEMENT: Domain event
         addDomainEvent(new UserDeletedEvent(this.getId()));
@@ -0,0 +1,19 @@
+package com.example.app.after.domain;
+
+/**
+ * A change the user's rules forbid, e.g. activating an already active user or taking an
+ * email another user holds.
+ *
+ * Thrown by {@link User} and by repositories enforcing email uniqueness; mapped to 409 at the
+ * web edge. Other illegal states (a closed log, a full queue) are not invariant violations.
+ */
+public class UserInvariantException extends IllegalStateException {
+
+    public UserInvariantException(String message) {
+        super(message);
+    }
+
+    public UserInvariantException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
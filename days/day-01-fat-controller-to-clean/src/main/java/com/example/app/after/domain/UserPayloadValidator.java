@@ -0,0 +1,75 @@
+package com.example.app.after.domain;
+
+import com.example.app.after.domain.valueobjects.Email;
+
+/**
+ * ✅ USER PAYLOAD VALIDATION
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - The one definition of the user field rules, used by the domain for every request
+ *   instead of Bean Validation annotations on the DTOs repeating them
+ * - No reflection, no regex, no allocation while the input is valid: each check returns
+ *   null or a constant message
+ * - All failing fields reported together, as "field: message" in field order
+ */
+public final class UserPayloadValidator {
+
+    public static final int NAME_MIN_LENGTH = 2;
+    public static final int NAME_MAX_LENGTH = 100;
+    public static final int PASSWORD_MIN_LENGTH = 6;
+    public static final int PASSWORD_MAX_LENGTH = 100;
+
+    private UserPayloadValidator() {
+    }
+
+    /**
+     * Why a new user with these fields would be invalid, or null if it would be valid
+     */
+    public static String createErrors(String email, String name, String password) {
+        String emailError = Email.validationError(email);
+        String nameError = nameError(name);
+        String passwordError = passwordError(password);
+        if (emailError == null && nameError == null && passwordError == null) {
+            return null;
+        }
+        StringBuilder errors = new StringBuilder();
+        append(errors, "email", emailError);
+        append(errors, "name", nameError);
+        append(errors, "password", passwordError);
+        return errors.toString();
+    }
+
+    public static String emailError(String email) {
+        return Email.validationError(email);
+    }
+
+    public static String nameError(String name) {
+        if (name == null || name.isBlank()) {
+            return "Name is required";
+        }
+        if (name.length() < NAME_MIN_LENGTH || name.length() > NAME_MAX_LENGTH) {
+            return "Name must be between 2 and 100 characters";
+        }
+        return null;
+    }
+
+    public static String passwordError(String password) {
+        if (password == null || password.isBlank()) {
+            return "Password is required";
+        }
+        if (password.length() < PASSWORD_MIN_LENGTH || password.length() > PASSWORD_MAX_LENGTH) {
+            return "Password must be between 6 and 100 characters";
+        }
+        return null;
+    }
+
+    private static void append(StringBuilder errors, String field, String error) {
+        if (error == null) {
+            return;
+        }
+        if (!errors.isEmpty()) {
+            errors.append(", ");
+        }
+        errors.append(field).append(": ").append(error);
+    }
+}
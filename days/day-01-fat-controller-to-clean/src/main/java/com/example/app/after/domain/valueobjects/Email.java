@@ -2,22 +2,20 @@ package com.example.app.after.domain.valueobjects;
 
 import com.example.app.shared.domain.ValueObject;
 
-import java.util.regex.Pattern;
-
 /**
  * ✅ EMAIL VALUE OBJECT - AFTER REFACTORING
  * 
  * IMPROVEMENTS IMPLEMENTED:
  * - Immutable value object
- * - Domain validation with regex
+ * - Domain validation with a single-pass scanner instead of a backtracking regex
  * - Type safety
  * - Follows DDD principles
  */
 public class Email extends ValueObject<String> {
 
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"
-    );
+    public static final int MAX_LENGTH = 255;
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final int MAX_LABEL_LENGTH = 63;
 
     public Email(String value) {
         super(value);
@@ -25,20 +23,96 @@ public class Email extends ValueObject<String> {
     }
 
     /**
-     * ✅ IMPROVEMENT: Domain validation with regex
+     * ✅ IMPROVEMENT: Domain validation without regex or allocation on the happy path
      */
     private void validate(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new IllegalArgumentException("Email cannot be null or empty");
+        String error = validationError(value);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Why {@code value} is not an acceptable email, or null if it is;
+     * the messages are constants, shared with {@code UserPayloadValidator}
+     */
+    public static String validationError(String value) {
+        if (value == null || value.isBlank()) {
+            return "Email is required";
         }
-        
-        if (!EMAIL_PATTERN.matcher(value).matches()) {
-            throw new IllegalArgumentException("Invalid email format: " + value);
+        if (value.length() > MAX_LENGTH) {
+            return "Email cannot exceed 255 characters";
         }
-        
-        if (value.length() > 255) {
-            throw new IllegalArgumentException("Email cannot exceed 255 characters");
+        return isWellFormed(value) ? null : "Email must be valid";
+    }
+
+    /**
+     * ✅ IMPROVEMENT: One left-to-right scan, each character looked at once.
+     *
+     * Accepts local@domain where the local part is 1-64 of [A-Za-z0-9._%+-] without leading,
+     * trailing or doubled dots, and the domain is at least two dot-separated labels of
+     * 1-63 of [A-Za-z0-9-], none starting or ending with '-', the last one 2+ letters.
+     * Stricter than the regex it replaced, which also let through a..b@x.com, .a@x.com,
+     * a@x..com and a@-x.com; nothing that regex rejected is accepted.
+     */
+    public static boolean isWellFormed(String value) {
+        int length = value.length();
+        if (length > MAX_LENGTH) {
+            return false;
         }
+
+        // Local part, up to the first '@'
+        int at = 0;
+        char previous = '.';
+        for (; at < length; at++) {
+            char c = value.charAt(at);
+            if (c == '@') {
+                break;
+            }
+            if (c == '.' ? previous == '.' : !isLocalChar(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        if (at == 0 || at > MAX_LOCAL_LENGTH || at == length || previous == '.') {
+            return false;
+        }
+
+        // Domain labels; a second '@' is not a label character
+        int labels = 0;
+        int labelStart = at + 1;
+        boolean alphabetic = true;
+        for (int i = labelStart; i <= length; i++) {
+            char c = i < length ? value.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+                        || value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i < length) {
+                    labelStart = i + 1;
+                    alphabetic = true;
+                }
+            } else if (isLetter(c)) {
+                // stays alphabetic
+            } else if ((c >= '0' && c <= '9') || c == '-') {
+                alphabetic = false;
+            } else {
+                return false;
+            }
+        }
+        return labels >= 2 && alphabetic && length - labelStart >= 2;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9')
+            || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
     }
 
     /**
@@ -1,9 +1,8 @@
 package com.example.app.after.domain.valueobjects;
 
+import com.example.app.shared.domain.IdGenerators;
 import com.example.app.shared.domain.ValueObject;
 
-import java.util.UUID;
-
 /**
  * ✅ USER ID VALUE OBJECT - AFTER REFACTORING
  * 
@@ -34,10 +33,10 @@ public class UserId extends ValueObject<String> {
     }
 
     /**
-     * ✅ IMPROVEMENT: Factory method for generating new IDs
+     * ✅ IMPROVEMENT: Factory method for generating new IDs, time-ordered by default (see IdGenerators)
      */
     public static UserId generate() {
-        return new UserId(UUID.randomUUID().toString());
+        return new UserId(IdGenerators.nextId());
     }
 
     /**
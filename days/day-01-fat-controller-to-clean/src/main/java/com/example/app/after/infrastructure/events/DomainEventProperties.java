@@ -0,0 +1,40 @@
+package com.example.app.after.infrastructure.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ✅ DOMAIN EVENT DISPATCH SETTINGS
+ * 
+ * Tuning for {@link RingBufferEventDispatcher}.
+ *
+ * @param bufferSize   events the ring holds, rounded up to a power of two; when the slowest
+ *                     handler is this far behind, further events are dropped and counted
+ * @param maxBatchSize most events handed to a handler in one call
+ * @param waitStrategy how idle handler threads wait: blocking (no CPU while idle), sleeping,
+ *                     yielding or busy-spin (lowest latency, a core per handler)
+ * @param drainTimeout how long shutdown waits for handlers to catch up
+ */
+@ConfigurationProperties(prefix = "users.events")
+public record DomainEventProperties(
+    @DefaultValue("8192") int bufferSize,
+    @DefaultValue("256") int maxBatchSize,
+    @DefaultValue("blocking") WaitStrategy.Kind waitStrategy,
+    @DefaultValue("5s") Duration drainTimeout
+) {
+
+    public DomainEventProperties {
+        if (bufferSize < 1 || bufferSize > 1 << 30) {
+            throw new IllegalArgumentException("users.events.buffer-size must be between 1 and 2^30");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("users.events.max-batch-size must be at least 1");
+        }
+    }
+
+    int ringSize() {
+        return bufferSize == 1 ? 1 : Integer.highestOneBit(bufferSize - 1) << 1;
+    }
+}
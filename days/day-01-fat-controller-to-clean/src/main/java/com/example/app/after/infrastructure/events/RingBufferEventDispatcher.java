@@ -0,0 +1,290 @@
+package com.example.app.after.infrastructure.events;
+
+import com.example.app.shared.domain.DomainEvent;
+import com.example.app.shared.domain.DomainEventHandler;
+import com.example.app.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ RING-BUFFER DOMAIN EVENT DISPATCHER
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Publishers claim slots in a preallocated ring with one CAS; no locks, no queue nodes
+ * - Every handler has its own thread and read sequence and sees every event in order
+ * - Handlers get all events published since their last call, up to max-batch-size at once
+ * - The last handler to read a slot clears it, so the ring never keeps handled events alive
+ * - Bounded: when the slowest handler is a full ring behind, events are dropped and counted
+ *   instead of holding up the API call that raised them
+ * - Events raised inside a transaction are handed over after commit, dropped on rollback
+ * - Configurable wait strategy for idle handlers
+ * - Per-handler lag, handled, failed and batch size metrics (users.events.*)
+ * - Handlers drained on shutdown, up to users.events.drain-timeout
+ */
+@Component
+public class RingBufferEventDispatcher implements DomainEventPublisher, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferEventDispatcher.class);
+
+    private final DomainEvent[] entries;
+    private final int mask;
+    private final int indexShift;
+
+    // Lap in which each slot was last published; a claimed slot is readable once it matches
+    private final AtomicIntegerArray publishedLaps;
+
+    // Handlers that have yet to read each slot; the one that brings it to zero clears the entry
+    private final AtomicIntegerArray pendingReaders;
+
+    // Highest sequence claimed by a publisher
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    // Slowest handler sequence seen by the last publisher that had to look
+    private final AtomicLong gatingSequence = new AtomicLong(-1);
+
+    private final WaitStrategy waitStrategy;
+    private final int maxBatchSize;
+    private final long drainTimeoutNanos;
+    private final List<HandlerThread> handlers;
+    private final Counter dropped;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public RingBufferEventDispatcher(ObjectProvider<DomainEventHandler> handlers, DomainEventProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this(handlers.orderedStream().toList(), properties, meterRegistry);
+    }
+
+    public RingBufferEventDispatcher(List<DomainEventHandler> handlers, DomainEventProperties properties,
+                                     MeterRegistry meterRegistry) {
+        int size = properties.ringSize();
+        this.entries = new DomainEvent[size];
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.publishedLaps = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            publishedLaps.set(i, -1);
+        }
+        this.pendingReaders = new AtomicIntegerArray(size);
+        this.waitStrategy = properties.waitStrategy().create();
+        this.maxBatchSize = properties.maxBatchSize();
+        this.drainTimeoutNanos = properties.drainTimeout().toNanos();
+        this.dropped = Counter.builder("users.events.dropped")
+            .description("Domain events dropped because the slowest handler was a full ring behind")
+            .register(meterRegistry);
+
+        List<HandlerThread> threads = new ArrayList<>(handlers.size());
+        for (DomainEventHandler handler : handlers) {
+            threads.add(new HandlerThread(handler, meterRegistry));
+        }
+        this.handlers = List.copyOf(threads);
+        this.handlers.forEach(thread -> thread.thread.start());
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Never blocks on handlers; inside a transaction the events wait for the commit
+     */
+    @Override
+    public void publish(List<DomainEvent> events) {
+        if (events.isEmpty() || handlers.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(events);
+                }
+            });
+        } else {
+            offer(events);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Claim room for all events with one CAS, or return false without publishing
+     * any if the slowest handler has not freed enough slots
+     */
+    public boolean tryPublish(List<DomainEvent> events) {
+        int count = events.size();
+        if (count > entries.length) {
+            throw new IllegalArgumentException(count + " events do not fit a ring of " + entries.length);
+        }
+        if (count == 0 || handlers.isEmpty()) {
+            return true;
+        }
+
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + count;
+            long wrapPoint = next - entries.length;
+            if (wrapPoint > gatingSequence.get()) {
+                long slowest = slowestSequence(current);
+                gatingSequence.set(slowest);
+                if (wrapPoint > slowest) {
+                    return false;
+                }
+            }
+        } while (!cursor.compareAndSet(current, next));
+
+        for (int i = 0; i < count; i++) {
+            long sequence = current + 1 + i;
+            int index = (int) sequence & mask;
+            entries[index] = events.get(i);
+            pendingReaders.lazySet(index, handlers.size());
+            publishedLaps.lazySet(index, (int) (sequence >>> indexShift));
+        }
+        waitStrategy.signalAll();
+        return true;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Give handlers up to the drain timeout to catch up, then stop them
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        long deadline = System.nanoTime() + drainTimeoutNanos;
+        long last = cursor.get();
+        while (slowestSequence(last) < last && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        if (slowestSequence(last) < last) {
+            log.warn("Domain event handlers stopped {} events behind", last - slowestSequence(last));
+        }
+
+        running = false;
+        waitStrategy.signalAll();
+        for (HandlerThread handler : handlers) {
+            handler.thread.join(TimeUnit.NANOSECONDS.toMillis(Math.max(deadline - System.nanoTime(), 0)) + 1);
+        }
+    }
+
+    /**
+     * Events claimed but not yet handled by the slowest handler
+     */
+    public long backlog() {
+        long last = cursor.get();
+        return last - slowestSequence(last);
+    }
+
+    private void offer(List<DomainEvent> events) {
+        for (int from = 0; from < events.size(); from += entries.length) {
+            List<DomainEvent> chunk = events.subList(from, Math.min(from + entries.length, events.size()));
+            if (!tryPublish(chunk)) {
+                dropped.increment(chunk.size());
+            }
+        }
+    }
+
+    private long slowestSequence(long defaultSequence) {
+        long slowest = defaultSequence;
+        for (HandlerThread handler : handlers) {
+            slowest = Math.min(slowest, handler.sequence.get());
+        }
+        return slowest;
+    }
+
+    /**
+     * Highest sequence from {@code low} up to {@code high} below which every slot is published
+     */
+    private long highestPublished(long low, long high) {
+        for (long sequence = low; sequence <= high; sequence++) {
+            if (publishedLaps.get((int) sequence & mask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return high;
+    }
+
+    private final class HandlerThread implements Runnable {
+
+        private final DomainEventHandler handler;
+        private final String name;
+
+        // Highest sequence this handler is done with; publishers may reuse slots up to it
+        private final AtomicLong sequence = new AtomicLong(-1);
+
+        private final Thread thread;
+        private final Counter handled;
+        private final Counter failed;
+        private final DistributionSummary batchSizes;
+
+        HandlerThread(DomainEventHandler handler, MeterRegistry meterRegistry) {
+            this.handler = handler;
+            this.name = handler.name();
+            this.thread = new Thread(this, "user-events-" + name);
+            this.thread.setDaemon(true);
+            this.handled = Counter.builder("users.events.handled").tag("handler", name).register(meterRegistry);
+            this.failed = Counter.builder("users.events.failed").tag("handler", name).register(meterRegistry);
+            this.batchSizes = DistributionSummary.builder("users.events.batch").tag("handler", name)
+                .register(meterRegistry);
+            Gauge.builder("users.events.lag", this, handlerThread -> cursor.get() - handlerThread.sequence.get())
+                .description("Events published but not yet handled")
+                .tag("handler", name)
+                .register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            List<DomainEvent> batch = new ArrayList<>(maxBatchSize);
+            List<DomainEvent> view = Collections.unmodifiableList(batch);
+            long next = sequence.get() + 1;
+            while (running) {
+                long available = waitStrategy.waitFor(next, cursor, () -> running);
+                if (available < next) {
+                    continue;
+                }
+                long highest = highestPublished(next, Math.min(available, next + maxBatchSize - 1));
+                if (highest < next) {
+                    // Claimed by a publisher that has not written the slot yet
+                    Thread.yield();
+                    continue;
+                }
+
+                for (long s = next; s <= highest; s++) {
+                    int index = (int) s & mask;
+                    batch.add(entries[index]);
+                    // Publishers cannot reuse the slot before this handler's sequence passes it
+                    if (pendingReaders.decrementAndGet(index) == 0) {
+                        entries[index] = null;
+                    }
+                }
+                dispatch(view);
+                batch.clear();
+                sequence.lazySet(highest);
+                next = highest + 1;
+            }
+        }
+
+        private void dispatch(List<DomainEvent> batch) {
+            batchSizes.record(batch.size());
+            try {
+                handler.handle(batch);
+                handled.increment(batch.size());
+            } catch (RuntimeException e) {
+                failed.increment(batch.size());
+                log.error("Domain event handler {} failed on {} events", name, batch.size(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.app.after.infrastructure.events;
+
+import com.example.app.shared.domain.DomainEvent;
+import com.example.app.shared.domain.DomainEventHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ DOMAIN EVENT COUNTERS
+ * 
+ * Counts user domain events by type (users.domain.events{type=...}), off the request thread.
+ */
+@Component
+public class UserEventMetricsHandler implements DomainEventHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    // Only touched by this handler's dispatcher thread
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    public UserEventMetricsHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            counters.computeIfAbsent(event.getEventType(), type -> Counter.builder("users.domain.events")
+                    .tag("type", type)
+                    .register(meterRegistry))
+                .increment();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "metrics";
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.app.after.infrastructure.events;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ✅ HOW HANDLER THREADS WAIT FOR EVENTS
+ * 
+ * Trades handler wake-up latency against CPU burnt while idle. Publishers only pay
+ * for {@link #signalAll()}, which is a single flag read unless a handler is parked.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until {@code cursor} reaches {@code sequence} or {@code running} turns false,
+     * and returns the last cursor value seen
+     */
+    long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running);
+
+    /**
+     * Called by publishers after making events visible
+     */
+    void signalAll();
+
+    enum Kind {
+        BLOCKING, SLEEPING, YIELDING, BUSY_SPIN;
+
+        WaitStrategy create() {
+            return switch (this) {
+                case BLOCKING -> new Blocking();
+                case SLEEPING -> new Sleeping();
+                case YIELDING -> new Yielding();
+                case BUSY_SPIN -> new BusySpin();
+            };
+        }
+    }
+
+    /**
+     * Parks on a condition; publishers only take the lock when a waiter raised the flag.
+     * The timed wait bounds how long a stop request can go unnoticed.
+     */
+    final class Blocking implements WaitStrategy {
+
+        private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+            long available = cursor.get();
+            if (available >= sequence) {
+                return available;
+            }
+            lock.lock();
+            try {
+                while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                    signalNeeded.set(true);
+                    // A publisher that advanced the cursor before the flag was raised did not signal
+                    if ((available = cursor.get()) >= sequence) {
+                        break;
+                    }
+                    published.awaitNanos(MAX_PARK_NANOS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+            return cursor.get();
+        }
+
+        @Override
+        public void signalAll() {
+            if (signalNeeded.getAndSet(false)) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Spins, then yields, then parks for short periods
+     */
+    final class Sleeping implements WaitStrategy {
+
+        private static final int SPINS = 100;
+        private static final int YIELDS = 100;
+        private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+            long available;
+            int attempts = 0;
+            while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                if (attempts < SPINS) {
+                    Thread.onSpinWait();
+                } else if (attempts < SPINS + YIELDS) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+                attempts++;
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    /**
+     * Spins briefly, then yields the core to other runnable threads
+     */
+    final class Yielding implements WaitStrategy {
+
+        private static final int SPINS = 100;
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+            long available;
+            int attempts = 0;
+            while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                if (attempts++ < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    /**
+     * Never gives up the core; only sensible with a spare core per handler
+     */
+    final class BusySpin implements WaitStrategy {
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+            long available;
+            while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.app.after.infrastructure.events.outbox;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ✅ LOCAL OUTBOX SINK
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Stand-in for a message broker: relayed events are logged (debug) and counted
+ * - Idempotent consumer: redelivered event ids are recognised within a bounded window
+ *   and counted as duplicates instead of being delivered twice
+ * - users.outbox.delivered and users.outbox.duplicates counters
+ * - Replace with a broker-backed {@link OutboxSink} bean to publish for real
+ */
+@Component
+@Profile("outbox")
+public class LocalOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalOutboxSink.class);
+
+    private final Cache<String, Boolean> delivered;
+    private final Counter deliveredCounter;
+    private final Counter duplicates;
+
+    public LocalOutboxSink(OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.delivered = Caffeine.newBuilder()
+            .maximumSize(properties.dedupeCapacity())
+            .build();
+        this.deliveredCounter = Counter.builder("users.outbox.delivered")
+            .description("Outbox events delivered to the local sink")
+            .register(meterRegistry);
+        this.duplicates = Counter.builder("users.outbox.duplicates")
+            .description("Redelivered outbox events recognised by event id and skipped")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void send(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            if (delivered.asMap().putIfAbsent(message.eventId(), Boolean.TRUE) != null) {
+                duplicates.increment();
+                continue;
+            }
+            deliveredCounter.increment();
+            if (log.isDebugEnabled()) {
+                log.debug("{} {}: {}", message.eventType(), message.eventId(), message.payload());
+            }
+        }
+    }
+}
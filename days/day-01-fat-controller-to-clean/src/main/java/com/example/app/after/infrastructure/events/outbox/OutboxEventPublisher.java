@@ -0,0 +1,85 @@
+package com.example.app.after.infrastructure.events.outbox;
+
+import com.example.app.after.infrastructure.events.RingBufferEventDispatcher;
+import com.example.app.shared.domain.DomainEvent;
+import com.example.app.shared.domain.DomainEventPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * ✅ TRANSACTIONAL OUTBOX PUBLISHER
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Events written to user_event_outbox on the caller's connection, so they commit or roll
+ *   back together with the user changes that raised them
+ * - One JDBC batch for all events of a save instead of a round trip per event
+ * - Unique event ids: the same event cannot be queued twice
+ * - In-process handlers still notified through the ring-buffer dispatcher after commit
+ * - {@link OutboxRelay} forwards the committed rows to the {@link OutboxSink}
+ * - Selected with the "outbox" profile (together with "jdbc")
+ */
+@Component
+@Primary
+@Profile("outbox")
+public class OutboxEventPublisher implements DomainEventPublisher {
+
+    private static final String INSERT =
+        "INSERT INTO user_event_outbox (event_id, event_type, occurred_on, payload) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RingBufferEventDispatcher dispatcher;
+
+    public OutboxEventPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                RingBufferEventDispatcher dispatcher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String[] payloads = new String[events.size()];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = toJson(events.get(i));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                DomainEvent event = events.get(i);
+                ps.setString(1, event.getEventId());
+                ps.setString(2, event.getEventType());
+                ps.setObject(3, event.getOccurredOn());
+                ps.setString(4, payloads[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return payloads.length;
+            }
+        });
+        dispatcher.publish(events);
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.app.after.infrastructure.events.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * One relayed outbox row: a domain event serialized as JSON.
+ *
+ * @param sequence   outbox position, increasing in insertion order
+ * @param eventId    {@link com.example.app.shared.domain.DomainEvent#getEventId()}, the idempotency key
+ * @param eventType  simple class name of the event
+ * @param occurredOn when the event was raised
+ * @param payload    the event as JSON
+ */
+public record OutboxMessage(
+    long sequence,
+    String eventId,
+    String eventType,
+    LocalDateTime occurredOn,
+    String payload
+) {
+}
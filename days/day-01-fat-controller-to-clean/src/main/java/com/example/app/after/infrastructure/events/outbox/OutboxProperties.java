@@ -0,0 +1,34 @@
+package com.example.app.after.infrastructure.events.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ✅ OUTBOX RELAY SETTINGS
+ *
+ * Tuning for {@link OutboxRelay} and {@link LocalOutboxSink} ("outbox" profile).
+ *
+ * @param batchSize       most outbox rows read, sent and deleted per relay round trip
+ * @param pollInterval    delay between two relay runs once the outbox has been drained
+ * @param drainTimeout    how long shutdown keeps relaying what is left in the outbox
+ * @param dedupeCapacity  most recently delivered event ids the local sink remembers to drop redeliveries
+ */
+@ConfigurationProperties(prefix = "users.outbox")
+public record OutboxProperties(
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("200ms") Duration pollInterval,
+    @DefaultValue("10s") Duration drainTimeout,
+    @DefaultValue("100000") int dedupeCapacity
+) {
+
+    public OutboxProperties {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("users.outbox.batch-size must be at least 1");
+        }
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("users.outbox.poll-interval must be positive");
+        }
+    }
+}
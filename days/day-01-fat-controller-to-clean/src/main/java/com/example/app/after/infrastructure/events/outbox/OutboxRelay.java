@@ -0,0 +1,160 @@
+package com.example.app.after.infrastructure.events.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ OUTBOX RELAY
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Committed outbox rows read oldest first, batch-size rows per query
+ * - Each batch handed to the {@link OutboxSink} in one call, then deleted with one JDBC batch
+ * - Full batches relayed back to back; the relay sleeps poll-interval only once the outbox is empty
+ * - At least once: a failed send or delete leaves the rows for the next run, and the sink
+ *   drops redeliveries by event id
+ * - users.outbox.relayed / failures counters, users.outbox.batch (relay round trip) and
+ *   users.outbox.lag (event raised -> delivered) timers
+ * - Outbox drained on shutdown, up to users.outbox.drain-timeout
+ */
+@Component
+@Profile("outbox")
+public class OutboxRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_BATCH =
+        "SELECT seq, event_id, event_type, occurred_on, payload FROM user_event_outbox ORDER BY seq LIMIT ?";
+
+    // By exact sequence: rows of a transaction still in flight may sit below the highest one relayed
+    private static final String DELETE = "DELETE FROM user_event_outbox WHERE seq = ?";
+
+    private static final RowMapper<OutboxMessage> MESSAGE_ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+        rs.getLong("seq"),
+        rs.getString("event_id"),
+        rs.getString("event_type"),
+        rs.getObject("occurred_on", LocalDateTime.class),
+        rs.getString("payload")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer batchTimer;
+    private final Timer lag;
+
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, OutboxSink sink, OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sink = sink;
+        this.properties = properties;
+        this.relayed = Counter.builder("users.outbox.relayed")
+            .description("Outbox events sent to the sink and removed from the outbox")
+            .register(meterRegistry);
+        this.failures = Counter.builder("users.outbox.failures")
+            .description("Relay batches that failed and were left for the next run")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("users.outbox.batch")
+            .description("Read, send and delete of one outbox batch")
+            .register(meterRegistry);
+        this.lag = Timer.builder("users.outbox.lag")
+            .description("Time from an event being raised to its delivery by the relay")
+            .register(meterRegistry);
+
+        long interval = properties.pollInterval().toMillis();
+        relay.scheduleWithFixedDelay(this::relaySafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Relay one batch; returns the number of events relayed
+     */
+    public int relayBatch() {
+        long start = System.nanoTime();
+        List<OutboxMessage> batch = jdbcTemplate.query(SELECT_BATCH, MESSAGE_ROW_MAPPER, properties.batchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        sink.send(batch);
+        LocalDateTime delivered = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(DELETE, batch, batch.size(),
+            (ps, message) -> ps.setLong(1, message.sequence()));
+
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        relayed.increment(batch.size());
+        for (OutboxMessage message : batch) {
+            lag.record(Duration.between(message.occurredOn(), delivered));
+        }
+        return batch.size();
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Relay full batches until the outbox is empty; returns the number of events relayed
+     */
+    public long drain() {
+        long total = 0;
+        int count;
+        do {
+            count = relayBatch();
+            total += count;
+        } while (count == properties.batchSize());
+        return total;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Stop polling, then relay what is left
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        relay.shutdown();
+        if (!relay.awaitTermination(properties.drainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Outbox relay did not stop within {}", properties.drainTimeout());
+        }
+
+        long deadline = System.nanoTime() + properties.drainTimeout().toNanos();
+        try {
+            while (relayBatch() == properties.batchSize() && System.nanoTime() < deadline) {
+                // keep relaying full batches until the outbox is empty or time is up
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed during shutdown; remaining events are relayed on next start", e);
+        }
+    }
+
+    private void relaySafely() {
+        try {
+            long start = System.nanoTime();
+            long count = drain();
+            if (count > 0 && log.isDebugEnabled()) {
+                log.debug("Relayed {} outbox events in {} ms", count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("Outbox relay failed, retrying in {}", properties.pollInterval(), e);
+        }
+    }
+}
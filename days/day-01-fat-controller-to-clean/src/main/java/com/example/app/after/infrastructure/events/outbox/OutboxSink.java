@@ -0,0 +1,20 @@
+package com.example.app.after.infrastructure.events.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox messages (a broker, another service, ...).
+ *
+ * Delivery is at least once: a batch whose rows could not be deleted after {@link #send}
+ * returned is sent again, so implementations must treat a repeated
+ * {@link OutboxMessage#eventId()} as already delivered.
+ */
+@FunctionalInterface
+public interface OutboxSink {
+
+    /**
+     * Deliver the messages in order; returning normally acknowledges all of them,
+     * throwing leaves all of them in the outbox for the next relay run
+     */
+    void send(List<OutboxMessage> messages);
+}
@@ -0,0 +1,23 @@
+package com.example.app.after.infrastructure.ids;
+
+import com.example.app.shared.domain.IdGenerator;
+import com.example.app.shared.domain.IdGenerators;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ✅ ID GENERATOR SELECTION
+ *
+ * Installs the generator chosen by users.ids.generator for UserId and DomainEvent,
+ * and exposes it as a bean for anything that wants ids of the same kind.
+ */
+@Configuration
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public IdGenerator idGenerator(IdGeneratorProperties properties) {
+        IdGenerator generator = properties.generator().create();
+        IdGenerators.use(generator);
+        return generator;
+    }
+}
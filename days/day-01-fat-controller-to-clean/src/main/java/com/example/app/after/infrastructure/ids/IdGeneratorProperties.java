@@ -0,0 +1,28 @@
+package com.example.app.after.infrastructure.ids;
+
+import com.example.app.shared.domain.IdGenerator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * ✅ ID GENERATION SETTINGS
+ *
+ * @param generator time-ordered (UUIDv7, default) or random (UUIDv4 from SecureRandom)
+ */
+@ConfigurationProperties(prefix = "users.ids")
+public record IdGeneratorProperties(
+    @DefaultValue("time-ordered") Kind generator
+) {
+
+    public enum Kind {
+        TIME_ORDERED,
+        RANDOM;
+
+        IdGenerator create() {
+            return switch (this) {
+                case TIME_ORDERED -> IdGenerator.timeOrdered();
+                case RANDOM -> IdGenerator.random();
+            };
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * ✅ REACTIVE ADAPTER OVER THE IN-MEMORY REPOSITORY
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - In-memory calls never wait on I/O, so they run on the subscriber's thread
+ *   without a scheduler hop
+ * - findAll walks keyset pages on demand: a slow client holds back the next
+ *   page instead of the whole result being collected up front
+ */
+@Repository
+@Profile("reactive")
+public class InMemoryReactiveUserRepository implements ReactiveUserRepository {
+
+    private static final int PAGE_SIZE = 256;
+
+    private final InMemoryUserRepository repository;
+
+    public InMemoryReactiveUserRepository(InMemoryUserRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return Mono.fromCallable(() -> repository.save(user));
+    }
+
+    @Override
+    public Mono<Boolean> saveIfEmailAvailable(User user) {
+        return Mono.fromCallable(() -> repository.saveIfEmailAvailable(user));
+    }
+
+    @Override
+    public Mono<User> findById(UserId id) {
+        return Mono.defer(() -> Mono.justOrEmpty(repository.findById(id)));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return Mono.defer(() -> Mono.justOrEmpty(repository.findByEmail(email)));
+    }
+
+    @Override
+    public Flux<User> findAll(String status, String search) {
+        return Mono.fromCallable(() -> repository.findAllAfter(null, PAGE_SIZE, status, search))
+            .expand(page -> page.size() < PAGE_SIZE
+                ? Mono.empty()
+                : Mono.fromCallable(() -> repository.findAllAfter(UserCursor.of(last(page)), PAGE_SIZE, status, search)))
+            // ✅ IMPROVEMENT: Prefetch a single page
+            .concatMapIterable(page -> page, 1);
+    }
+
+    @Override
+    public Mono<Long> count(String status, String search) {
+        return Mono.fromCallable(() -> repository.count(status, search));
+    }
+
+    @Override
+    public Mono<Void> delete(UserId id) {
+        return Mono.fromRunnable(() -> repository.delete(id));
+    }
+
+    private static User last(List<User> page) {
+        return page.get(page.size() - 1);
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.app.after.infrastructure.persistence;
 
 import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserInvariantException;
+import com.example.app.after.domain.UserStatus;
 import com.example.app.after.domain.valueobjects.UserId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * ✅ IN-MEMORY USER REPOSITORY IMPLEMENTATION - AFTER REFACTORING
@@ -19,72 +34,321 @@ import java.util.stream.Collectors;
  * - Thread-safe storage
  * - Proper error handling
  * - Follows DDD principles
+ * - Case-insensitive email index for O(1) lookups and uniqueness
+ * - Status buckets so status-filtered queries only touch matching users
+ * - Trigram index so search only verifies likely matches
+ * - Sorted (createdAt, id) index for keyset pagination
+ * - Single-pass page + total queries
+ * - Compare-and-set saves on the user's version, stale writes are rejected
+ * - Copy-on-write snapshots: stored users are never mutated or handed out,
+ *   so readers never see a half-applied update
  */
 @Repository
+@Profile("!jdbc & !compact")
 public class InMemoryUserRepository implements UserRepository {
 
+    // User id -> immutable snapshot of the latest stored state; readers get copies
     private final Map<String, User> users = new ConcurrentHashMap<>();
 
+    // Normalized email -> user id
+    private final Map<String, String> emailIndex = new ConcurrentHashMap<>();
+
+    // Status -> ids of users currently in that status
+    private final Map<UserStatus, Set<String>> statusIndex = new EnumMap<>(UserStatus.class);
+
+    // Trigrams of lowercased name and email -> user ids
+    private final TrigramIndex searchIndex = new TrigramIndex();
+
+    // Users ordered by (createdAt, id); createdAt never changes once a user exists
+    private final NavigableSet<UserCursor> creationOrder = new ConcurrentSkipListSet<>();
+
+    // User id -> values it is currently indexed under; also serializes writes per user
+    private final Map<String, IndexedUser> indexedUsers = new ConcurrentHashMap<>();
+
+    public InMemoryUserRepository() {
+        for (UserStatus status : UserStatus.values()) {
+            statusIndex.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
     @Override
     public User save(User user) {
-        users.put(user.getId().getValue(), user);
+        if (!store(user, true)) {
+            throw new UserInvariantException("Email already in use: " + user.getEmail().getValue());
+        }
         return user;
     }
 
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> saved = new ArrayList<>(users.size());
+        for (User user : users) {
+            saved.add(save(user));
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean saveIfEmailAvailable(User user) {
+        return store(user, true);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Load a user at the version it was persisted with, e.g. when recovering
+     * from a log or warming from a durable store; no version check
+     */
+    public void restore(User user) {
+        if (!store(user, false)) {
+            throw new UserInvariantException("Email already in use: " + user.getEmail().getValue());
+        }
+    }
+
     @Override
     public Optional<User> findById(UserId id) {
-        return Optional.ofNullable(users.get(id.getValue()));
+        return Optional.ofNullable(users.get(id.getValue())).map(User::copy);
+    }
+
+    @Override
+    public List<User> findAllById(Collection<UserId> ids) {
+        List<User> found = new ArrayList<>(ids.size());
+        for (UserId id : ids) {
+            User user = users.get(id.getValue());
+            if (user != null) {
+                found.add(user.copy());
+            }
+        }
+        return found;
     }
 
     @Override
     public Optional<User> findByEmail(String email) {
-        return users.values().stream()
-            .filter(user -> user.getEmail().getValue().equals(email))
-            .findFirst();
+        if (email == null) {
+            return Optional.empty();
+        }
+        String id = emailIndex.get(normalize(email));
+        return id == null ? Optional.empty() : Optional.ofNullable(users.get(id)).map(User::copy);
     }
 
     @Override
     public List<User> findAll(int page, int size, String status, String search) {
-        return users.values().stream()
-            .filter(user -> filterByStatus(user, status))
-            .filter(user -> filterBySearch(user, search))
+        return resolve(matchingIds(UserQuery.compile(status, search)))
             .skip((long) page * size)
             .limit(size)
+            .map(User::copy)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public UserPage findPage(int page, int size, String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        long offset = (long) page * size;
+
+        // ✅ IMPROVEMENT: Totals without a search term are index reads, not a traversal
+        if (!query.hasTerm()) {
+            List<User> content = resolve(matchingIds(query))
+                .skip(offset)
+                .limit(size)
+                .map(User::copy)
+                .collect(Collectors.toList());
+            return new UserPage(content, count(query));
+        }
+
+        // ✅ IMPROVEMENT: One traversal collects the page and counts every match
+        List<User> content = new ArrayList<>(size);
+        long[] total = {0};
+        matchingIds(query).forEach(id -> {
+            long position = total[0]++;
+            if (position >= offset && content.size() < size) {
+                User user = users.get(id);
+                if (user != null) {
+                    content.add(user.copy());
+                }
+            }
+        });
+        return new UserPage(content, total[0]);
+    }
+
+    @Override
+    public List<User> findAllAfter(UserCursor after, int size, String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        if (query.matchesNothing()) {
+            return List.of();
+        }
+
+        NavigableSet<UserCursor> remaining = after == null ? creationOrder : creationOrder.tailSet(after, false);
+        return remaining.stream()
+            .filter(cursor -> matches(cursor.id(), query))
+            .map(cursor -> users.get(cursor.id()))
+            .filter(Objects::nonNull)
+            .limit(size)
+            .map(User::copy)
             .collect(Collectors.toList());
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return users.values().stream()
-            .anyMatch(user -> user.getEmail().getValue().equals(email));
+        return email != null && emailIndex.containsKey(normalize(email));
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (String email : emails) {
+            if (email != null) {
+                String key = normalize(email);
+                if (emailIndex.containsKey(key)) {
+                    existing.add(key);
+                }
+            }
+        }
+        return existing;
     }
 
     @Override
     public long count(String status, String search) {
-        return users.values().stream()
-            .filter(user -> filterByStatus(user, status))
-            .filter(user -> filterBySearch(user, search))
-            .count();
+        return count(UserQuery.compile(status, search));
     }
 
     @Override
     public void delete(UserId id) {
-        users.remove(id.getValue());
+        remove(id);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Delete and return the removed user at the version it was stored at
+     */
+    Optional<User> remove(UserId id) {
+        String userId = id.getValue();
+        User[] removed = new User[1];
+        indexedUsers.computeIfPresent(userId, (key, indexed) -> {
+            emailIndex.remove(indexed.emailKey(), userId);
+            statusIndex.get(indexed.status()).remove(userId);
+            searchIndex.update(userId, indexed.grams(), Collections.emptySet());
+            removed[0] = users.remove(userId);
+            if (removed[0] != null) {
+                creationOrder.remove(UserCursor.of(removed[0]));
+            }
+            return null;
+        });
+        return Optional.ofNullable(removed[0]);
+    }
+
+    boolean contains(UserId id) {
+        return users.containsKey(id.getValue());
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Check the version, claim the email and store a snapshot of the user in
+     * one atomic step per user id. Returns false, leaving the repository untouched, if another
+     * user owns the email; throws if the user was read at a version that is no longer current.
+     */
+    private boolean store(User user, boolean compareVersion) {
+        String userId = user.getId().getValue();
+        IndexedUser current = IndexedUser.of(user);
+        User snapshot = user.copy();
+        if (compareVersion) {
+            snapshot.setVersion(user.getVersion() + 1);
+        }
+        boolean[] stored = {false};
+
+        indexedUsers.compute(userId, (key, previous) -> {
+            if (compareVersion) {
+                User storedUser = users.get(userId);
+                long storedVersion = storedUser != null ? storedUser.getVersion() : 0;
+                if (storedVersion != user.getVersion()) {
+                    throw new OptimisticLockingFailureException("User " + userId + " was modified concurrently (version "
+                        + user.getVersion() + ", stored " + storedVersion + ")");
+                }
+            }
+            String owner = emailIndex.putIfAbsent(current.emailKey(), userId);
+            if (owner != null && !owner.equals(userId)) {
+                return previous;
+            }
+            if (previous != null && !previous.emailKey().equals(current.emailKey())) {
+                emailIndex.remove(previous.emailKey(), userId);
+            }
+            if (previous == null || previous.status() != current.status()) {
+                statusIndex.get(current.status()).add(userId);
+                if (previous != null) {
+                    statusIndex.get(previous.status()).remove(userId);
+                }
+            }
+            searchIndex.update(userId, previous != null ? previous.grams() : Collections.emptySet(), current.grams());
+            if (previous == null) {
+                creationOrder.add(UserCursor.of(user));
+            }
+            users.put(userId, snapshot);
+            stored[0] = true;
+            return current;
+        });
+
+        if (stored[0]) {
+            user.setVersion(snapshot.getVersion());
+        }
+        return stored[0];
     }
 
-    private boolean filterByStatus(User user, String status) {
-        if (status == null || status.trim().isEmpty()) {
-            return true;
+    private long count(UserQuery query) {
+        if (query.matchesNothing()) {
+            return 0;
         }
-        return user.getStatus().name().equals(status);
+        if (!query.hasTerm()) {
+            return query.hasStatus() ? statusIndex.get(query.status()).size() : users.size();
+        }
+        return matchingIds(query).count();
     }
 
-    private boolean filterBySearch(User user, String search) {
-        if (search == null || search.trim().isEmpty()) {
-            return true;
+    /**
+     * ✅ IMPROVEMENT: Start from the smallest index bucket, then verify against the
+     * indexed (already lowercased) values instead of lowercasing every user
+     */
+    private Stream<String> matchingIds(UserQuery query) {
+        if (query.matchesNothing()) {
+            return Stream.empty();
+        }
+
+        Collection<String> candidates = query.hasStatus() ? statusIndex.get(query.status()) : null;
+        if (query.hasTerm()) {
+            Set<String> searchCandidates = searchIndex.candidates(query.term());
+            if (searchCandidates != null && (candidates == null || searchCandidates.size() < candidates.size())) {
+                candidates = searchCandidates;
+            }
+        }
+        if (candidates == null) {
+            if (!query.hasTerm()) {
+                return users.keySet().stream();
+            }
+            candidates = indexedUsers.keySet();
+        }
+
+        return candidates.stream()
+            .filter(id -> matches(id, query));
+    }
+
+    private boolean matches(String id, UserQuery query) {
+        IndexedUser indexed = indexedUsers.get(id);
+        return indexed != null && query.matches(indexed.status(), indexed.nameKey(), indexed.emailKey());
+    }
+
+    private Stream<User> resolve(Stream<String> ids) {
+        return ids
+            .map(users::get)
+            .filter(Objects::nonNull);
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedUser(String emailKey, String nameKey, UserStatus status) {
+
+        static IndexedUser of(User user) {
+            return new IndexedUser(normalize(user.getEmail().getValue()), normalize(user.getName()), user.getStatus());
+        }
+
+        // Recomputed on writes rather than kept per user, to keep the index lean
+        Set<Long> grams() {
+            return TrigramIndex.grams(nameKey, emailKey);
         }
-        String searchLower = search.toLowerCase();
-        return user.getName().toLowerCase().contains(searchLower) ||
-               user.getEmail().getValue().toLowerCase().contains(searchLower);
     }
 }
@@ -0,0 +1,484 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserInvariantException;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.domain.valueobjects.UserId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ✅ JDBC USER REPOSITORY IMPLEMENTATION
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Durable storage behind the same UserRepository port
+ * - Plain JdbcTemplate, no entity hydration overhead
+ * - Constant SQL strings so the driver can reuse prepared statements
+ * - Batched inserts and updates
+ * - Explicit column lists instead of SELECT *
+ * - Listings, keyset pages and exports select a projection without the password hash
+ * - Compare-and-set updates on the version column, stale writes are rejected
+ * - Only a violation of the email index reads as "email in use"; other key collisions propagate
+ * - Selected with the "jdbc" profile (and as the store behind "write-behind")
+ */
+@Repository
+@Profile({"jdbc", "write-behind"})
+public class JdbcUserRepository implements UserRepository {
+
+    private static final String COLUMNS =
+        "id, email, name, password_hash, status, created_at, updated_at, version";
+
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM app_users";
+
+    // Read projection for listings, keyset pages and exports: everything a response shows, no credentials
+    private static final String LIST_COLUMNS = "id, email, name, status, created_at, updated_at, version";
+
+    private static final String LIST_SELECT = "SELECT " + LIST_COLUMNS + " FROM app_users";
+
+    private static final String INSERT =
+        "INSERT INTO app_users (" + COLUMNS + ", email_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Compare-and-set: only applies if the row is still at the version the user was read at
+    private static final String UPDATE =
+        "UPDATE app_users SET email = ?, email_key = ?, name = ?, password_hash = ?, status = ?, updated_at = ?, "
+            + "version = ? WHERE id = ? AND version = ?";
+
+    // Unconditional, for replicas of state already versioned elsewhere (write-behind flushes)
+    private static final String REPLACE =
+        "UPDATE app_users SET email = ?, email_key = ?, name = ?, password_hash = ?, status = ?, updated_at = ?, "
+            + "version = ? WHERE id = ?";
+
+    // Parks a row's email key on a value no normalized email can take (it has no '@')
+    private static final String MOVE_EMAIL_KEY_ASIDE = "UPDATE app_users SET email_key = '#' || id WHERE id = ?";
+
+    private static final String FIND_BY_ID = SELECT + " WHERE id = ?";
+
+    private static final String FIND_BY_EMAIL = SELECT + " WHERE email_key = ?";
+
+    private static final String EXISTS_BY_EMAIL = "SELECT COUNT(*) FROM app_users WHERE email_key = ?";
+
+    // Ids and emails are looked up in fixed-size IN lists; short chunks are padded by repeating a key
+    private static final int KEY_BATCH_SIZE = 256;
+
+    private static final String IN_KEYS = " IN (" + String.join(", ", Collections.nCopies(KEY_BATCH_SIZE, "?")) + ")";
+
+    private static final String FIND_ALL_BY_ID = SELECT + " WHERE id" + IN_KEYS;
+
+    private static final String FIND_EXISTING_EMAILS = "SELECT email_key FROM app_users WHERE email_key" + IN_KEYS;
+
+    private static final String DELETE = "DELETE FROM app_users WHERE id = ?";
+
+    private static final String ORDER = " ORDER BY created_at, id";
+
+    // Row-value comparison, so the (created_at, id) index can seek straight to the cursor
+    private static final String AFTER_CURSOR = "(created_at, id) > (?, ?)";
+
+    // Unique index on the normalized email (db/users-schema.sql); named in the driver's error message
+    private static final String EMAIL_KEY_INDEX = "ux_app_users_email_key";
+
+    private static final RowMapper<User> USER_ROW_MAPPER = (rs, rowNum) -> User.reconstitute(
+        UserId.of(rs.getString("id")),
+        rs.getString("email"),
+        rs.getString("name"),
+        rs.getString("password_hash"),
+        UserStatus.valueOf(rs.getString("status")),
+        rs.getObject("created_at", LocalDateTime.class),
+        rs.getObject("updated_at", LocalDateTime.class),
+        rs.getLong("version")
+    );
+
+    // Listed users carry no password hash: UserRepository hands out Users, but nothing reads the
+    // hash of a listed one, and saving one back fails on the NOT NULL column instead of wiping it
+    private static final RowMapper<User> LIST_ROW_MAPPER = (rs, rowNum) -> User.reconstitute(
+        UserId.of(rs.getString("id")),
+        rs.getString("email"),
+        rs.getString("name"),
+        null,
+        UserStatus.valueOf(rs.getString("status")),
+        rs.getObject("created_at", LocalDateTime.class),
+        rs.getObject("updated_at", LocalDateTime.class),
+        rs.getLong("version")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcUserRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: New users (version 0) are inserted at version 1; existing ones are
+     * updated only if the row is still at the version they were read at
+     */
+    @Override
+    public User save(User user) {
+        try {
+            if (user.getVersion() == 0) {
+                jdbcTemplate.update(INSERT, ps -> bindInsert(ps, user, 1));
+            } else if (jdbcTemplate.update(UPDATE, ps -> bindUpdate(ps, user)) == 0) {
+                throw staleWrite(user);
+            }
+        } catch (DuplicateKeyException e) {
+            throw emailInUse(e, "Email already in use: " + user.getEmail().getValue());
+        }
+        user.setVersion(user.getVersion() + 1);
+        return user;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Two batches (compare-and-set updates, then inserts) instead of one
+     * round trip per user
+     */
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> batch = new ArrayList<>(users);
+        List<User> updates = new ArrayList<>();
+        List<User> inserts = new ArrayList<>();
+        for (User user : batch) {
+            (user.getVersion() == 0 ? inserts : updates).add(user);
+        }
+
+        try {
+            if (!updates.isEmpty()) {
+                int[][] updated = jdbcTemplate.batchUpdate(UPDATE, updates, updates.size(), this::bindUpdate);
+                for (int i = 0; i < updates.size(); i++) {
+                    if (updated[0][i] == 0) {
+                        throw staleWrite(updates.get(i));
+                    }
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, inserts, inserts.size(), (ps, user) -> bindInsert(ps, user, 1));
+            }
+        } catch (DuplicateKeyException e) {
+            throw emailInUse(e, "Email already in use in batch");
+        }
+        for (User user : batch) {
+            user.setVersion(user.getVersion() + 1);
+        }
+        return batch;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Upsert at the users' own versions without comparing them, for state
+     * that was already version-checked in front of this store
+     */
+    void replaceAll(Collection<User> users) {
+        List<User> batch = new ArrayList<>(users);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            int[][] updated = jdbcTemplate.batchUpdate(REPLACE, batch, batch.size(), this::bindReplace);
+
+            List<User> missing = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (updated[0][i] == 0) {
+                    missing.add(batch.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, missing, missing.size(),
+                    (ps, user) -> bindInsert(ps, user, user.getVersion()));
+            }
+        } catch (DuplicateKeyException e) {
+            throw emailInUse(e, "Email already in use in batch");
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Like {@link #replaceAll}, for users whose emails only fit together, e.g. two
+     * users swapping emails: their stored email keys are moved aside first, so no intermediate row
+     * collides. Run it inside a transaction, or the moved-aside keys are visible until it completes.
+     */
+    void replaceAllMovingEmailsAside(Collection<User> users) {
+        List<User> batch = new ArrayList<>(users);
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MOVE_EMAIL_KEY_ASIDE, batch, batch.size(),
+            (ps, user) -> ps.setString(1, user.getId().getValue()));
+        replaceAll(batch);
+    }
+
+    @Override
+    public boolean saveIfEmailAvailable(User user) {
+        try {
+            save(user);
+            return true;
+        } catch (UserInvariantException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<User> findById(UserId id) {
+        return jdbcTemplate.query(FIND_BY_ID, USER_ROW_MAPPER, id.getValue()).stream().findFirst();
+    }
+
+    @Override
+    public List<User> findAllById(Collection<UserId> ids) {
+        List<String> keys = ids.stream().map(UserId::getValue).distinct().toList();
+        Map<String, User> byId = new HashMap<>(keys.size() * 2);
+        for (int from = 0; from < keys.size(); from += KEY_BATCH_SIZE) {
+            for (User user : jdbcTemplate.query(FIND_ALL_BY_ID, USER_ROW_MAPPER, keyBatch(keys, from))) {
+                byId.put(user.getId().getValue(), user);
+            }
+        }
+
+        List<User> found = new ArrayList<>(ids.size());
+        for (UserId id : ids) {
+            User user = byId.get(id.getValue());
+            if (user != null) {
+                found.add(user);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(FIND_BY_EMAIL, USER_ROW_MAPPER, normalize(email)).stream().findFirst();
+    }
+
+    @Override
+    public List<User> findAll(int page, int size, String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        if (query.matchesNothing()) {
+            return List.of();
+        }
+
+        List<Object> args = new ArrayList<>();
+        String sql = LIST_SELECT + where(query, args) + ORDER + " LIMIT ? OFFSET ?";
+        args.add(size);
+        args.add((long) page * size);
+        return jdbcTemplate.query(sql, LIST_ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * ✅ IMPROVEMENT: COUNT(*) OVER () returns the total alongside the page rows
+     */
+    @Override
+    public UserPage findPage(int page, int size, String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        if (query.matchesNothing()) {
+            return new UserPage(List.of(), 0);
+        }
+
+        List<Object> args = new ArrayList<>();
+        String where = where(query, args);
+        String sql = "SELECT " + LIST_COLUMNS + ", COUNT(*) OVER () AS total FROM app_users"
+            + where + ORDER + " LIMIT ? OFFSET ?";
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(size);
+        pageArgs.add((long) page * size);
+
+        long[] total = {-1};
+        List<User> users = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            total[0] = rs.getLong("total");
+            return LIST_ROW_MAPPER.mapRow(rs, rowNum);
+        }, pageArgs.toArray());
+
+        // Past the last page there is no row to carry the total
+        if (total[0] < 0) {
+            total[0] = count(where, args);
+        }
+        return new UserPage(users, total[0]);
+    }
+
+    @Override
+    public List<User> findAllAfter(UserCursor after, int size, String status, String search) {
+        return findAllAfter(LIST_SELECT, LIST_ROW_MAPPER, after, size, status, search);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Keyset page of fully hydrated users, password hashes included, for
+     * copying the store into another repository (write-behind warm-up)
+     */
+    List<User> loadAfter(UserCursor after, int size) {
+        return findAllAfter(SELECT, USER_ROW_MAPPER, after, size, null, null);
+    }
+
+    private List<User> findAllAfter(String select, RowMapper<User> rowMapper, UserCursor after, int size,
+                                    String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        if (query.matchesNothing()) {
+            return List.of();
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(where(query, args));
+        if (after != null) {
+            where.append(where.length() == 0 ? " WHERE " : " AND ").append(AFTER_CURSOR);
+            args.add(after.createdAt());
+            args.add(after.id());
+        }
+        args.add(size);
+        return jdbcTemplate.query(select + where + ORDER + " LIMIT ?", rowMapper, args.toArray());
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        Long matches = jdbcTemplate.queryForObject(EXISTS_BY_EMAIL, Long.class, normalize(email));
+        return matches != null && matches > 0;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        List<String> keys = emails.stream()
+            .filter(email -> email != null)
+            .map(JdbcUserRepository::normalize)
+            .distinct()
+            .toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < keys.size(); from += KEY_BATCH_SIZE) {
+            existing.addAll(jdbcTemplate.queryForList(FIND_EXISTING_EMAILS, String.class, keyBatch(keys, from)));
+        }
+        return existing;
+    }
+
+    @Override
+    public long count(String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        if (query.matchesNothing()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        return count(where(query, args), args);
+    }
+
+    @Override
+    public void delete(UserId id) {
+        jdbcTemplate.update(DELETE, id.getValue());
+    }
+
+    /**
+     * ✅ IMPROVEMENT: One batched DELETE instead of a statement per user
+     */
+    void deleteAll(Collection<UserId> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE, ids, ids.size(), (ps, id) -> ps.setString(1, id.getValue()));
+    }
+
+    private long count(String where, List<Object> args) {
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_users" + where, Long.class, args.toArray());
+        return total != null ? total : 0;
+    }
+
+    private static String where(UserQuery query, List<Object> args) {
+        List<String> conditions = new ArrayList<>(2);
+        if (query.hasStatus()) {
+            conditions.add("status = ?");
+            args.add(query.status().name());
+        }
+        if (query.hasTerm()) {
+            String pattern = "%" + escapeLike(query.term()) + "%";
+            conditions.add("(LOWER(name) LIKE ? ESCAPE '\\' OR email_key LIKE ? ESCAPE '\\')");
+            args.add(pattern);
+            args.add(pattern);
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static void bindInsert(PreparedStatement ps, User user, long version) throws SQLException {
+        ps.setString(1, user.getId().getValue());
+        ps.setString(2, user.getEmail().getValue());
+        ps.setString(3, user.getName());
+        ps.setString(4, user.getPasswordHash());
+        ps.setString(5, user.getStatus().name());
+        ps.setObject(6, user.getCreatedAt());
+        ps.setObject(7, user.getUpdatedAt());
+        ps.setLong(8, version);
+        ps.setString(9, normalize(user.getEmail().getValue()));
+    }
+
+    private void bindUpdate(PreparedStatement ps, User user) throws SQLException {
+        bindState(ps, user, user.getVersion() + 1);
+        ps.setLong(9, user.getVersion());
+    }
+
+    private void bindReplace(PreparedStatement ps, User user) throws SQLException {
+        bindState(ps, user, user.getVersion());
+    }
+
+    private static void bindState(PreparedStatement ps, User user, long version) throws SQLException {
+        ps.setString(1, user.getEmail().getValue());
+        ps.setString(2, normalize(user.getEmail().getValue()));
+        ps.setString(3, user.getName());
+        ps.setString(4, user.getPasswordHash());
+        ps.setString(5, user.getStatus().name());
+        ps.setObject(6, user.getUpdatedAt());
+        ps.setLong(7, version);
+        ps.setString(8, user.getId().getValue());
+    }
+
+    /**
+     * UserInvariantException (email taken) if {@code e} violated the email index; any other
+     * duplicate key, such as a colliding primary key, is rethrown as it is
+     */
+    private static RuntimeException emailInUse(DuplicateKeyException e, String message) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    String detail = next.getMessage();
+                    if (detail != null && detail.toLowerCase(Locale.ROOT).contains(EMAIL_KEY_INDEX)) {
+                        return new UserInvariantException(message, e);
+                    }
+                }
+            }
+        }
+        return e;
+    }
+
+    private static OptimisticLockingFailureException staleWrite(User user) {
+        return new OptimisticLockingFailureException("User " + user.getId().getValue()
+            + " was modified or deleted concurrently (version " + user.getVersion() + ")");
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Arguments for one IN_KEYS list: up to KEY_BATCH_SIZE keys from {@code from}, padded with the last one
+     */
+    private static Object[] keyBatch(List<String> keys, int from) {
+        int size = Math.min(KEY_BATCH_SIZE, keys.size() - from);
+        Object[] args = new Object[KEY_BATCH_SIZE];
+        for (int i = 0; i < KEY_BATCH_SIZE; i++) {
+            args[i] = keys.get(from + Math.min(i, size - 1));
+        }
+        return args;
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ✅ NON-BLOCKING USER REPOSITORY CONTRACT
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Same operations as UserRepository, as Mono/Flux
+ * - findAll streams every match in (createdAt, id) order with backpressure,
+ *   instead of materializing a page list
+ */
+public interface ReactiveUserRepository {
+
+    Mono<User> save(User user);
+
+    /**
+     * Emits false, storing nothing, if another user already owns the email
+     */
+    Mono<Boolean> saveIfEmailAvailable(User user);
+
+    Mono<User> findById(UserId id);
+
+    Mono<User> findByEmail(String email);
+
+    Flux<User> findAll(String status, String search);
+
+    Mono<Long> count(String status, String search);
+
+    Mono<Void> delete(UserId id);
+}
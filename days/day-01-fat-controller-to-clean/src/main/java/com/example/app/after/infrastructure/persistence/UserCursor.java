@@ -0,0 +1,62 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * ✅ USER CURSOR - KEYSET PAGINATION POSITION
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Stable sort key (createdAt, id) that never changes for a user
+ * - Opaque token so clients cannot depend on its contents
+ * - Immutable record
+ */
+public record UserCursor(LocalDateTime createdAt, String id) implements Comparable<UserCursor> {
+
+    private static final Comparator<UserCursor> ORDER = Comparator
+        .comparing(UserCursor::createdAt)
+        .thenComparing(UserCursor::id);
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * ✅ IMPROVEMENT: Cursor positioned at the given user
+     */
+    public static UserCursor of(User user) {
+        return new UserCursor(user.getCreatedAt(), user.getId().getValue());
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Decode an opaque token produced by {@link #encode()}
+     */
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new UserCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Encode as an opaque, URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int compareTo(UserCursor other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.User;
+
+import java.util.List;
+
+/**
+ * ✅ USER PAGE - RESULT OF A SINGLE-PASS PAGED QUERY
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Page content and total computed together
+ * - Immutable record
+ */
+public record UserPage(List<User> users, long total) {
+}
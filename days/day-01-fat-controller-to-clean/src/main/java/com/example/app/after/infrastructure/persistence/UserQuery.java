@@ -0,0 +1,64 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.UserStatus;
+
+import java.util.Locale;
+
+/**
+ * ✅ COMPILED USER QUERY
+ * 
+ * Status and search filters parsed and normalized once per request, so the
+ * same predicate can drive both the page and the total without re-parsing
+ * the status or lowercasing the search term again.
+ */
+public record UserQuery(UserStatus status, String term, boolean matchesNothing) {
+
+    private static final UserQuery NOTHING = new UserQuery(null, null, true);
+
+    /**
+     * ✅ IMPROVEMENT: Parse raw request filters once; blank filters match everything,
+     * an unknown status matches nothing
+     */
+    public static UserQuery compile(String status, String search) {
+        UserStatus userStatus = null;
+        if (!isBlank(status)) {
+            userStatus = parseStatus(status);
+            if (userStatus == null) {
+                return NOTHING;
+            }
+        }
+        String term = isBlank(search) ? null : search.toLowerCase(Locale.ROOT);
+        return new UserQuery(userStatus, term, false);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Evaluate against already lowercased name and email
+     */
+    public boolean matches(UserStatus userStatus, String nameLower, String emailLower) {
+        if (matchesNothing || (status != null && status != userStatus)) {
+            return false;
+        }
+        return term == null || nameLower.contains(term) || emailLower.contains(term);
+    }
+
+    public boolean hasStatus() {
+        return status != null;
+    }
+
+    public boolean hasTerm() {
+        return term != null;
+    }
+
+    private static UserStatus parseStatus(String status) {
+        for (UserStatus userStatus : UserStatus.values()) {
+            if (userStatus.name().equals(status)) {
+                return userStatus;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
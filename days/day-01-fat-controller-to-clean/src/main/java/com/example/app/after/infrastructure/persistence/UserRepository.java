@@ -3,8 +3,10 @@ package com.example.app.after.infrastructure.persistence;
 import com.example.app.after.domain.User;
 import com.example.app.after.domain.valueobjects.UserId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ✅ USER REPOSITORY INTERFACE - AFTER REFACTORING
@@ -24,13 +26,29 @@ public interface UserRepository {
      */
     User save(User user);
 
+    /**
+     * ✅ IMPROVEMENT: Save several users as one batch
+     */
+    List<User> saveAll(Collection<User> users);
+
+    /**
+     * ✅ IMPROVEMENT: Insert user only if no other user owns the email (atomic)
+     */
+    boolean saveIfEmailAvailable(User user);
+
     /**
      * ✅ IMPROVEMENT: Find by ID with Optional
      */
     Optional<User> findById(UserId id);
 
     /**
-     * ✅ IMPROVEMENT: Find by email with Optional
+     * ✅ IMPROVEMENT: Multi-get in one pass, the users found among the ids in the order
+     * the ids are given; unknown ids are skipped
+     */
+    List<User> findAllById(Collection<UserId> ids);
+
+    /**
+     * ✅ IMPROVEMENT: Find by email (case-insensitive) with Optional
      */
     Optional<User> findByEmail(String email);
 
@@ -40,10 +58,27 @@ public interface UserRepository {
     List<User> findAll(int page, int size, String status, String search);
 
     /**
-     * ✅ IMPROVEMENT: Check if email exists
+     * ✅ IMPROVEMENT: Page and total in a single traversal
+     */
+    UserPage findPage(int page, int size, String status, String search);
+
+    /**
+     * ✅ IMPROVEMENT: Keyset pagination ordered by (createdAt, id), starting after the cursor
+     * (or from the beginning when the cursor is null)
+     */
+    List<User> findAllAfter(UserCursor after, int size, String status, String search);
+
+    /**
+     * ✅ IMPROVEMENT: Check if email exists (case-insensitive)
      */
     boolean existsByEmail(String email);
 
+    /**
+     * ✅ IMPROVEMENT: Batched uniqueness check, returns the normalized (lowercased) emails
+     * among the given ones that already belong to a user
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
     /**
      * ✅ IMPROVEMENT: Count users with filters
      */
@@ -0,0 +1,29 @@
+package com.example.app.after.infrastructure.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ✅ WRITE-BEHIND SETTINGS
+ * 
+ * Tuning for {@link WriteBehindUserRepository} ("write-behind" profile).
+ *
+ * @param flushInterval delay between two flushes of the pending mutations
+ * @param batchSize     maximum mutations persisted per batch
+ * @param maxPending    distinct users allowed to wait for a flush before writers are held back
+ * @param offerTimeout  how long a writer waits for room before the write is rejected
+ * @param drainTimeout  how long shutdown waits for the remaining mutations to be flushed
+ * @param maxAttempts   failed flushes of one mutation before it is set aside as a dead letter
+ */
+@ConfigurationProperties(prefix = "users.write-behind")
+public record WriteBehindProperties(
+    @DefaultValue("200ms") Duration flushInterval,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("100000") int maxPending,
+    @DefaultValue("1s") Duration offerTimeout,
+    @DefaultValue("30s") Duration drainTimeout,
+    @DefaultValue("10") int maxAttempts
+) {
+}
@@ -0,0 +1,424 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ✅ WRITE-BEHIND USER REPOSITORY
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Reads and writes served by the in-memory repository
+ * - Mutations queued and flushed asynchronously in batches to the JDBC store
+ * - Repeated writes to the same user coalesced into one pending mutation; a delete
+ *   outranks every snapshot at or below the version it deleted
+ * - Versions checked in memory; the store receives version-stamped snapshots
+ * - Backpressure when too many users are waiting for a flush
+ * - Users whose emails only fit together (e.g. a swap) are written in one transaction
+ * - Failing mutations retried with exponential backoff, then set aside as dead letters
+ * - Store loaded into memory at startup, pending mutations drained at shutdown
+ * - Selected with the "write-behind" profile
+ */
+@Repository
+@Primary
+@Profile("write-behind")
+public class WriteBehindUserRepository implements UserRepository, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserRepository.class);
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final InMemoryUserRepository memory;
+    private final JdbcUserRepository store;
+    private final WriteBehindProperties properties;
+    private final TransactionOperations transactions;
+
+    // User id -> latest mutation not yet persisted
+    private final Map<String, Mutation> pending = new ConcurrentHashMap<>();
+
+    // User id -> mutation that failed maxAttempts times; superseded by the user's next mutation
+    private final Map<String, Mutation> deadLetters = new ConcurrentHashMap<>();
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition notFull = queueLock.newCondition();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public WriteBehindUserRepository(InMemoryUserRepository memory, JdbcUserRepository store,
+                                     WriteBehindProperties properties,
+                                     ObjectProvider<TransactionOperations> transactions) {
+        this(memory, store, properties, transactions.getIfAvailable(TransactionOperations::withoutTransaction));
+    }
+
+    public WriteBehindUserRepository(InMemoryUserRepository memory, JdbcUserRepository store,
+                                     WriteBehindProperties properties, TransactionOperations transactions) {
+        this.memory = memory;
+        this.store = store;
+        this.properties = properties;
+        this.transactions = transactions;
+
+        load();
+        long interval = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public User save(User user) {
+        awaitCapacity(user.getId());
+        memory.save(user);
+        enqueue(user.getId(), Mutation.upsert(user.copy()));
+        return user;
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> saved = new ArrayList<>(users.size());
+        for (User user : users) {
+            saved.add(save(user));
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean saveIfEmailAvailable(User user) {
+        awaitCapacity(user.getId());
+        if (!memory.saveIfEmailAvailable(user)) {
+            return false;
+        }
+        enqueue(user.getId(), Mutation.upsert(user.copy()));
+        return true;
+    }
+
+    @Override
+    public Optional<User> findById(UserId id) {
+        return memory.findById(id);
+    }
+
+    @Override
+    public List<User> findAllById(Collection<UserId> ids) {
+        return memory.findAllById(ids);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return memory.findByEmail(email);
+    }
+
+    @Override
+    public List<User> findAll(int page, int size, String status, String search) {
+        return memory.findAll(page, size, status, search);
+    }
+
+    @Override
+    public UserPage findPage(int page, int size, String status, String search) {
+        return memory.findPage(page, size, status, search);
+    }
+
+    @Override
+    public List<User> findAllAfter(UserCursor after, int size, String status, String search) {
+        return memory.findAllAfter(after, size, status, search);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return memory.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return memory.findExistingEmails(emails);
+    }
+
+    @Override
+    public long count(String status, String search) {
+        return memory.count(status, search);
+    }
+
+    @Override
+    public void delete(UserId id) {
+        awaitCapacity(id);
+        // Unknown ids are deleted in the store regardless of any snapshot queued for them
+        long version = memory.remove(id).map(User::getVersion).orElse(Long.MAX_VALUE);
+        enqueue(id, Mutation.delete(id, version));
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Graceful drain, everything accepted before shutdown is persisted.
+     * Between failed flushes it sleeps until the next retry is due instead of spinning.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(properties.drainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Write-behind flusher did not stop within {}", properties.drainTimeout());
+        }
+
+        long deadline = System.nanoTime() + properties.drainTimeout().toNanos();
+        while (!pending.isEmpty()) {
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                break;
+            }
+            if (!flush()) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(nextRetryAt() - now, deadline - now));
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.error("Write-behind shutdown left {} user mutations unpersisted", pending.size());
+        }
+        if (!deadLetters.isEmpty()) {
+            log.error("Write-behind shutdown left {} dead-lettered user mutations unpersisted", deadLetters.size());
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Number of users waiting for a flush
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Number of users whose latest mutation gave up after maxAttempts failed flushes
+     */
+    public int deadLetterCount() {
+        return deadLetters.size();
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Backpressure, hold writers back while the queue is full. A writer that
+     * cannot get room is rejected with a TaskRejectedException (503), so callers can tell
+     * overload apart from an invariant or email conflict.
+     */
+    private void awaitCapacity(UserId id) {
+        if (pending.size() < properties.maxPending() || pending.containsKey(id.getValue())) {
+            return;
+        }
+
+        long remaining = properties.offerTimeout().toNanos();
+        queueLock.lock();
+        try {
+            while (pending.size() >= properties.maxPending()) {
+                if (remaining <= 0) {
+                    throw new TaskRejectedException("Write-behind queue is full (" + pending.size() + " pending users)");
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for write-behind capacity", e);
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Two writers of one user can enqueue in the opposite order to the one memory applied;
+     * the higher version wins, and a delete wins a tie (it removed exactly that snapshot)
+     */
+    private void enqueue(UserId id, Mutation mutation) {
+        pending.merge(id.getValue(), mutation, (queued, next) -> queued.outranks(next) ? queued : next);
+        // A snapshot or delete replaces the whole row, so it supersedes a dead-lettered one
+        deadLetters.remove(id.getValue());
+    }
+
+    private void flushSafely() {
+        try {
+            while (flush()) {
+                // keep flushing full batches until nothing is due or a batch fails
+            }
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush failed", e);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Persist up to one batch of the coalesced mutations that are due.
+     * Returns false if nothing was due or some mutations had to be re-queued.
+     */
+    private boolean flush() {
+        long now = System.nanoTime();
+        List<Mutation> batch = new ArrayList<>(properties.batchSize());
+        Iterator<Map.Entry<String, Mutation>> entries = pending.entrySet().iterator();
+        while (entries.hasNext() && batch.size() < properties.batchSize()) {
+            Map.Entry<String, Mutation> entry = entries.next();
+            if (entry.getValue().retryAt() - now <= 0 && pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        signalNotFull();
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        try {
+            persist(batch, false);
+            return true;
+        } catch (RuntimeException batchFailure) {
+            log.warn("Write-behind batch of {} failed, retrying individually: {}", batch.size(), batchFailure.getMessage());
+            List<Mutation> failed = new ArrayList<>();
+            RuntimeException failure = batchFailure;
+            for (Mutation mutation : batch) {
+                try {
+                    persist(List.of(mutation), false);
+                } catch (RuntimeException e) {
+                    failed.add(mutation);
+                    failure = e;
+                }
+            }
+            if (failed.isEmpty()) {
+                return true;
+            }
+
+            // Rows that each collide with another's stored email (e.g. two users swapping emails)
+            // fail one by one as well; written together, with their emails moved aside first, they fit
+            if (failed.size() > 1) {
+                try {
+                    transactions.executeWithoutResult(status -> persist(failed, true));
+                    return true;
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            for (Mutation mutation : failed) {
+                retryLater(mutation, failure);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Deletes first, so an email freed by a deleted user can be taken by an upsert in the same batch.
+     * A snapshot of a user memory no longer holds is dropped: its delete was enqueued after it,
+     * and may already have been flushed.
+     */
+    private void persist(List<Mutation> batch, boolean moveEmailsAside) {
+        List<UserId> deletes = new ArrayList<>();
+        List<User> upserts = new ArrayList<>(batch.size());
+        for (Mutation mutation : batch) {
+            if (mutation.isDelete()) {
+                deletes.add(mutation.deletedId());
+            } else if (memory.contains(mutation.user().getId())) {
+                upserts.add(mutation.user());
+            }
+        }
+        store.deleteAll(deletes);
+        if (moveEmailsAside) {
+            store.replaceAllMovingEmailsAside(upserts);
+        } else {
+            store.replaceAll(upserts);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Re-queue with exponential backoff (flushInterval, doubling up to 64x);
+     * after maxAttempts the mutation is set aside as a dead letter instead of retried forever.
+     * A newer mutation of the same user, queued meanwhile, supersedes it.
+     */
+    private void retryLater(Mutation mutation, RuntimeException failure) {
+        Mutation failed = mutation.failed(properties.flushInterval());
+        if (failed.failures() < properties.maxAttempts()) {
+            pending.putIfAbsent(failed.key(), failed);
+        } else if (!pending.containsKey(failed.key())) {
+            deadLetters.put(failed.key(), failed);
+            log.error("Write-behind gave up on user {} after {} failed flushes: {}",
+                failed.key(), failed.failures(), failure.getMessage());
+        }
+    }
+
+    private long nextRetryAt() {
+        long next = System.nanoTime() + properties.flushInterval().toNanos();
+        for (Mutation mutation : pending.values()) {
+            if (mutation.retryAt() - next < 0) {
+                next = mutation.retryAt();
+            }
+        }
+        return next;
+    }
+
+    private void signalNotFull() {
+        queueLock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Warm the in-memory repository from the durable store
+     */
+    private void load() {
+        long loaded = 0;
+        UserCursor after = null;
+        List<User> page;
+        do {
+            page = store.loadAfter(after, LOAD_PAGE_SIZE);
+            page.forEach(memory::restore);
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                after = UserCursor.of(page.get(page.size() - 1));
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        log.info("Write-behind repository loaded {} users from the store", loaded);
+    }
+
+    private record Mutation(User user, UserId deletedId, long version, int failures, long retryAt) {
+
+        private static final int MAX_BACKOFF_SHIFT = 6;
+
+        static Mutation upsert(User user) {
+            return new Mutation(user, null, user.getVersion(), 0, System.nanoTime());
+        }
+
+        static Mutation delete(UserId id, long deletedVersion) {
+            return new Mutation(null, id, deletedVersion, 0, System.nanoTime());
+        }
+
+        Mutation failed(Duration backoff) {
+            long delay = backoff.toNanos() << Math.min(failures, MAX_BACKOFF_SHIFT);
+            return new Mutation(user, deletedId, version, failures + 1, System.nanoTime() + delay);
+        }
+
+        boolean isDelete() {
+            return deletedId != null;
+        }
+
+        boolean outranks(Mutation other) {
+            return version > other.version || (version == other.version && isDelete() && !other.isDelete());
+        }
+
+        String key() {
+            return isDelete() ? deletedId.getValue() : user.getId().getValue();
+        }
+    }
+}
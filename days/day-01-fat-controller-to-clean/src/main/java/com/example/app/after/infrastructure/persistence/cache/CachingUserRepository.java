@@ -0,0 +1,256 @@
+package com.example.app.after.infrastructure.persistence.cache;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.UserCursor;
+import com.example.app.after.infrastructure.persistence.UserPage;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ READ-THROUGH USER CACHE
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - findById, findAllById and findByEmail served from memory in front of the JDBC store
+ * - Caffeine (W-TinyLFU admission) bounded by size and time since the last write
+ * - Misses of a multi-get loaded from the store in one call
+ * - Email entries only point at a user id and are checked against the cached user,
+ *   so a changed email can never resolve to its previous owner
+ * - Every write invalidates the user, again after the surrounding transaction completes,
+ *   so activate/deactivate/delete are visible to the next read
+ * - Callers get their own copy; in-place mutations never reach the cached user before save
+ * - Listings, counts and uniqueness checks always go to the store
+ * - Hit, miss and eviction counters exported through Micrometer (cache.* metrics)
+ * - Selected with the "cache" profile together with "jdbc"
+ */
+@Repository
+@Primary
+@Profile("cache")
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+
+    // User id -> last user read from or written to the store; never handed out directly
+    private final Cache<String, User> usersById;
+
+    // Normalized email -> user id
+    private final Cache<String, String> idsByEmail;
+
+    // Bumped by every invalidation; loads outside a per-key computation only cache their
+    // result if no invalidation happened while they were reading the store
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CachingUserRepository(@Qualifier("jdbcUserRepository") UserRepository delegate,
+                                 UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.usersById = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .build();
+        this.idsByEmail = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "users.by-email");
+    }
+
+    @Override
+    public User save(User user) {
+        try {
+            return delegate.save(user);
+        } finally {
+            invalidate(user.getId().getValue());
+        }
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<String> ids = users.stream().map(user -> user.getId().getValue()).toList();
+        try {
+            return delegate.saveAll(users);
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    @Override
+    public boolean saveIfEmailAvailable(User user) {
+        try {
+            return delegate.saveIfEmailAvailable(user);
+        } finally {
+            invalidate(user.getId().getValue());
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Misses are loaded atomically per key; an invalidation racing with a load
+     * waits for it and then removes what it loaded
+     */
+    @Override
+    public Optional<User> findById(UserId id) {
+        return Optional.ofNullable(usersById.get(id.getValue(), key -> delegate.findById(id).orElse(null)))
+            .map(User::copy);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Cached users from memory, all misses loaded from the store in one call
+     */
+    @Override
+    public List<User> findAllById(Collection<UserId> ids) {
+        List<String> keys = ids.stream().map(UserId::getValue).toList();
+        Map<String, User> found = new HashMap<>(usersById.getAllPresent(keys));
+
+        List<UserId> missing = new ArrayList<>();
+        for (UserId id : ids) {
+            if (!found.containsKey(id.getValue())) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = invalidations.get();
+            List<User> loaded = delegate.findAllById(missing);
+            for (User user : loaded) {
+                found.put(user.getId().getValue(), user);
+            }
+            cacheIfUnchanged(generation, loaded);
+        }
+
+        List<User> users = new ArrayList<>(found.size());
+        for (String key : keys) {
+            User user = found.get(key);
+            if (user != null) {
+                users.add(user.copy());
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String key = normalize(email);
+        String id = idsByEmail.getIfPresent(key);
+        if (id != null) {
+            Optional<User> user = findById(UserId.of(id));
+            if (user.isPresent() && normalize(user.get().getEmail().getValue()).equals(key)) {
+                return user;
+            }
+            // The user moved to another email or is gone
+            idsByEmail.invalidate(key);
+        }
+
+        long generation = invalidations.get();
+        Optional<User> user = delegate.findByEmail(email);
+        user.ifPresent(found -> {
+            idsByEmail.put(key, found.getId().getValue());
+            cacheIfUnchanged(generation, List.of(found));
+        });
+        return user.map(User::copy);
+    }
+
+    @Override
+    public List<User> findAll(int page, int size, String status, String search) {
+        return delegate.findAll(page, size, status, search);
+    }
+
+    @Override
+    public UserPage findPage(int page, int size, String status, String search) {
+        return delegate.findPage(page, size, status, search);
+    }
+
+    @Override
+    public List<User> findAllAfter(UserCursor after, int size, String status, String search) {
+        return delegate.findAllAfter(after, size, status, search);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public long count(String status, String search) {
+        return delegate.count(status, search);
+    }
+
+    @Override
+    public void delete(UserId id) {
+        try {
+            delegate.delete(id);
+        } finally {
+            invalidate(id.getValue());
+        }
+    }
+
+    private void invalidate(String id) {
+        invalidate(List.of(id));
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Invalidate now and again once the transaction completes, so a concurrent
+     * reader cannot re-cache the row as it was before the commit
+     */
+    private void invalidate(List<String> ids) {
+        invalidations.incrementAndGet();
+        usersById.invalidateAll(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidations.incrementAndGet();
+                    usersById.invalidateAll(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * A write that raced with the read bumps the counter before invalidating: either the
+     * re-check after the put sees it and takes the entries back out, or the write's own
+     * invalidation runs after the put and removes them
+     */
+    private void cacheIfUnchanged(long generation, List<User> loaded) {
+        if (invalidations.get() != generation) {
+            return;
+        }
+        for (User user : loaded) {
+            usersById.asMap().putIfAbsent(user.getId().getValue(), user);
+        }
+        if (invalidations.get() != generation) {
+            usersById.invalidateAll(loaded.stream().map(user -> user.getId().getValue()).toList());
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
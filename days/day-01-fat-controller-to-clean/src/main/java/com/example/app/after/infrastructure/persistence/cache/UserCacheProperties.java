@@ -0,0 +1,21 @@
+package com.example.app.after.infrastructure.persistence.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ✅ USER CACHE SETTINGS
+ * 
+ * Tuning for {@link CachingUserRepository} ("cache" profile).
+ *
+ * @param maximumSize       users kept by id; the same bound applies to the email entries
+ * @param expireAfterWrite  how long an entry is served before it is read from the store again
+ */
+@ConfigurationProperties(prefix = "users.cache")
+public record UserCacheProperties(
+    @DefaultValue("100000") long maximumSize,
+    @DefaultValue("10m") Duration expireAfterWrite
+) {
+}
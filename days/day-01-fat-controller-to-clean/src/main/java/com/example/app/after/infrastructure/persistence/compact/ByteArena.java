@@ -0,0 +1,69 @@
+package com.example.app.after.infrastructure.persistence.compact;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ SHARED BYTE ARENA FOR USER STRINGS
+ * 
+ * Strings are stored as UTF-8 in fixed-size pages and addressed by a single
+ * long reference (page offset << 16 | length), so a stored string costs its
+ * bytes plus 8 bytes instead of a String object, its array and headers.
+ * Not thread-safe; callers guard it.
+ */
+final class ByteArena {
+
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int MAX_LENGTH = 0xFFFF;
+
+    private final List<byte[]> pages = new ArrayList<>();
+    private int pagePosition = PAGE_SIZE;
+    private long liveBytes;
+
+    /**
+     * ✅ IMPROVEMENT: Append a string, returning its reference
+     */
+    long append(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Value too long for the arena: " + bytes.length + " bytes");
+        }
+        if (pagePosition + bytes.length > PAGE_SIZE) {
+            pages.add(new byte[PAGE_SIZE]);
+            pagePosition = 0;
+        }
+        long offset = ((long) (pages.size() - 1) << PAGE_BITS) | pagePosition;
+        System.arraycopy(bytes, 0, pages.get(pages.size() - 1), pagePosition, bytes.length);
+        pagePosition += bytes.length;
+        liveBytes += bytes.length;
+        return offset << 16 | bytes.length;
+    }
+
+    String read(long reference) {
+        long offset = reference >>> 16;
+        byte[] page = pages.get((int) (offset >>> PAGE_BITS));
+        return new String(page, (int) (offset & (PAGE_SIZE - 1)), (int) (reference & MAX_LENGTH), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Mark a string as garbage; space is reclaimed by copying live strings
+     * into a fresh arena once garbage dominates
+     */
+    void release(long reference) {
+        liveBytes -= reference & MAX_LENGTH;
+    }
+
+    long allocatedBytes() {
+        return (long) pages.size() * PAGE_SIZE;
+    }
+
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    boolean worthCompacting() {
+        return allocatedBytes() > 16L * PAGE_SIZE && liveBytes < allocatedBytes() / 2;
+    }
+}
@@ -0,0 +1,734 @@
+package com.example.app.after.infrastructure.persistence.compact;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserInvariantException;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.UserCursor;
+import com.example.app.after.infrastructure.persistence.UserPage;
+import com.example.app.after.infrastructure.persistence.UserQuery;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ✅ COMPACT COLUMNAR USER REPOSITORY
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - One slot per user across primitive columns instead of a User object graph
+ * - UUID ids as two longs, timestamps as epoch nanos, status as a byte
+ * - Email, name and password hash as UTF-8 in a shared paged byte arena
+ * - Open-addressing id and email tables over int slots, no boxed entries
+ * - Email probes compare a stored hash of the normalized email before touching the arena
+ * - Keyset pages seek a creation-ordered slot index and read only the slots they return
+ * - User objects are materialized only when read
+ * - Compare-and-set saves against a version column
+ * - Selected with the "compact" profile
+ *
+ * Trade-off: searches and offset pages scan the columns instead of using the
+ * trigram index of InMemoryUserRepository.
+ */
+@Repository
+@Primary
+@Profile("compact")
+public class CompactUserRepository implements UserRepository {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    // flags column layout
+    private static final int LIVE = 0x80;
+    private static final int STRING_ID = 0x40;
+    private static final int STATUS_MASK = 0x0F;
+
+    // hash table markers
+    private static final int EMPTY = -1;
+    private static final int TOMBSTONE = -2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columns, indexed by slot
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private long[] updatedAt = new long[INITIAL_CAPACITY];
+    private long[] emailRef = new long[INITIAL_CAPACITY];
+    private long[] nameRef = new long[INITIAL_CAPACITY];
+    private long[] passwordHashRef = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int[] emailHash = new int[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+
+    private ByteArena arena = new ByteArena();
+
+    // Slots below highWater have been used; freed ones are reused first
+    private int highWater;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    // Slots ordered by (createdAt, id). Deleted slots stay in it, with their id and createdAt
+    // intact, until it is purged; only then are they handed out again
+    private int[] creationOrder = new int[INITIAL_CAPACITY];
+    private int creationOrderSize;
+    private int deletedInOrder;
+
+    // Open-addressing tables holding slots; used counts include tombstones
+    private int[] idTable = emptyTable(INITIAL_CAPACITY * 2);
+    private int idTableUsed;
+    private int[] emailTable = emptyTable(INITIAL_CAPACITY * 2);
+    private int emailTableUsed;
+
+    private int size;
+    private final int[] statusCounts = new int[STATUSES.length];
+
+    @Override
+    public User save(User user) {
+        if (!saveIfEmailAvailable(user)) {
+            throw new UserInvariantException("Email already in use: " + user.getEmail().getValue());
+        }
+        return user;
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> saved = new ArrayList<>(users.size());
+        lock.writeLock().lock();
+        try {
+            for (User user : users) {
+                if (!store(user)) {
+                    throw new UserInvariantException("Email already in use: " + user.getEmail().getValue());
+                }
+                saved.add(user);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean saveIfEmailAvailable(User user) {
+        lock.writeLock().lock();
+        try {
+            return store(user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> findById(UserId id) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(id.getValue());
+            return slot == EMPTY ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findAllById(Collection<UserId> ids) {
+        List<User> found = new ArrayList<>(ids.size());
+        lock.readLock().lock();
+        try {
+            for (UserId id : ids) {
+                int slot = findSlot(id.getValue());
+                if (slot != EMPTY) {
+                    found.add(materialize(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int slot = findEmailSlot(normalize(email));
+            return slot == EMPTY ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findAll(int page, int size, String status, String search) {
+        return findPage(page, size, status, search).users();
+    }
+
+    @Override
+    public UserPage findPage(int page, int size, String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        if (query.matchesNothing()) {
+            return new UserPage(List.of(), 0);
+        }
+        long offset = (long) page * size;
+
+        lock.readLock().lock();
+        try {
+            List<User> content = new ArrayList<>(Math.min(size, 256));
+            long total = 0;
+            for (int slot = 0; slot < highWater; slot++) {
+                if (!matches(slot, query)) {
+                    continue;
+                }
+                if (total >= offset && content.size() < size) {
+                    content.add(materialize(slot));
+                } else if (content.size() == size && !query.hasTerm()) {
+                    // ✅ IMPROVEMENT: Without a search term the rest of the total is a counter read
+                    return new UserPage(content, count(query));
+                }
+                total++;
+            }
+            return new UserPage(content, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findAllAfter(UserCursor after, int size, String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        if (query.matchesNothing() || size <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // ✅ IMPROVEMENT: Seek past the cursor, then walk creation order until the page is full
+            int index = after == null ? 0
+                : upperBound(toNanos(after.createdAt()), after.id(), parseCanonicalUuid(after.id()));
+            List<User> content = new ArrayList<>(Math.min(size, 256));
+            for (; index < creationOrderSize && content.size() < size; index++) {
+                int slot = creationOrder[index];
+                if (matches(slot, query)) {
+                    content.add(materialize(slot));
+                }
+            }
+            return content;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return findEmailSlot(normalize(email)) != EMPTY;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (String email : emails) {
+                if (email != null) {
+                    String key = normalize(email);
+                    if (findEmailSlot(key) != EMPTY) {
+                        existing.add(key);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return existing;
+    }
+
+    @Override
+    public long count(String status, String search) {
+        UserQuery query = UserQuery.compile(status, search);
+        lock.readLock().lock();
+        try {
+            return count(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(UserId id) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(id.getValue());
+            if (slot == EMPTY) {
+                return;
+            }
+            removeFromTable(idTable, slotIdHash(slot), slot);
+            removeFromTable(emailTable, emailHash[slot], slot);
+            arena.release(emailRef[slot]);
+            arena.release(nameRef[slot]);
+            arena.release(passwordHashRef[slot]);
+            statusCounts[flags[slot] & STATUS_MASK]--;
+            // The id stays readable so creationOrder can still be searched past this slot
+            flags[slot] &= STRING_ID;
+            size--;
+            deletedInOrder++;
+            if (deletedInOrder > Math.max(INITIAL_CAPACITY, size / 4)) {
+                purgeCreationOrder();
+            }
+            if (arena.worthCompacting()) {
+                compactArena();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the columns, hash tables and string arena
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) idHigh.length * (8 * Long.BYTES + 2 * Integer.BYTES + 1);
+            long tables = (long) (idTable.length + emailTable.length) * Integer.BYTES;
+            return columns + tables + (long) freeSlots.length * Integer.BYTES + arena.allocatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Insert or overwrite a user's slot if the user was read at the stored
+     * version. Returns false, leaving the repository untouched, if another user owns the
+     * email. Caller holds the write lock.
+     */
+    private boolean store(User user) {
+        String id = user.getId().getValue();
+        String email = user.getEmail().getValue();
+        String emailKey = normalize(email);
+
+        int slot = findSlot(id);
+        long storedVersion = slot == EMPTY ? 0 : versions[slot];
+        if (storedVersion != user.getVersion()) {
+            throw new OptimisticLockingFailureException("User " + id + " was modified concurrently (version "
+                + user.getVersion() + ", stored " + storedVersion + ")");
+        }
+        int owner = findEmailSlot(emailKey);
+        if (owner != EMPTY && owner != slot) {
+            return false;
+        }
+
+        if (slot == EMPTY) {
+            slot = allocateSlot();
+            writeId(slot, id);
+            emailRef[slot] = arena.append(email);
+            nameRef[slot] = arena.append(user.getName());
+            passwordHashRef[slot] = arena.append(user.getPasswordHash());
+            flags[slot] = (byte) (LIVE | (flags[slot] & STRING_ID) | user.getStatus().ordinal());
+            createdAt[slot] = toNanos(user.getCreatedAt());
+            updatedAt[slot] = toNanos(user.getUpdatedAt());
+            emailHash[slot] = hashEmail(emailKey);
+            idTableUsed += insertIntoTable(idTable, hashId(id), slot);
+            emailTableUsed += insertIntoTable(emailTable, emailHash[slot], slot);
+            insertIntoCreationOrder(slot);
+            statusCounts[user.getStatus().ordinal()]++;
+            size++;
+            versions[slot] = 1;
+            user.setVersion(1);
+            growTablesIfNeeded();
+            return true;
+        }
+
+        // ✅ IMPROVEMENT: Only changed strings take new arena space
+        if (owner == EMPTY) {
+            removeFromTable(emailTable, emailHash[slot], slot);
+            arena.release(emailRef[slot]);
+            emailRef[slot] = arena.append(email);
+            emailHash[slot] = hashEmail(emailKey);
+            emailTableUsed += insertIntoTable(emailTable, emailHash[slot], slot);
+        } else if (!arena.read(emailRef[slot]).equals(email)) {
+            // Same normalized email, different case
+            arena.release(emailRef[slot]);
+            emailRef[slot] = arena.append(email);
+        }
+        if (!arena.read(nameRef[slot]).equals(user.getName())) {
+            arena.release(nameRef[slot]);
+            nameRef[slot] = arena.append(user.getName());
+        }
+        if (!arena.read(passwordHashRef[slot]).equals(user.getPasswordHash())) {
+            arena.release(passwordHashRef[slot]);
+            passwordHashRef[slot] = arena.append(user.getPasswordHash());
+        }
+        int previousStatus = flags[slot] & STATUS_MASK;
+        statusCounts[previousStatus]--;
+        statusCounts[user.getStatus().ordinal()]++;
+        flags[slot] = (byte) ((flags[slot] & ~STATUS_MASK) | user.getStatus().ordinal());
+        updatedAt[slot] = toNanos(user.getUpdatedAt());
+        versions[slot]++;
+        user.setVersion(versions[slot]);
+
+        growTablesIfNeeded();
+        if (arena.worthCompacting()) {
+            compactArena();
+        }
+        return true;
+    }
+
+    private long count(UserQuery query) {
+        if (query.matchesNothing()) {
+            return 0;
+        }
+        if (!query.hasTerm()) {
+            return query.hasStatus() ? statusCounts[query.status().ordinal()] : size;
+        }
+        long total = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (matches(slot, query)) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private boolean matches(int slot, UserQuery query) {
+        int slotFlags = flags[slot];
+        if ((slotFlags & LIVE) == 0) {
+            return false;
+        }
+        UserStatus status = STATUSES[slotFlags & STATUS_MASK];
+        if (query.hasStatus() && status != query.status()) {
+            return false;
+        }
+        if (!query.hasTerm()) {
+            return true;
+        }
+        return query.matches(status, normalize(arena.read(nameRef[slot])), normalize(arena.read(emailRef[slot])));
+    }
+
+    private User materialize(int slot) {
+        return User.reconstitute(
+            UserId.of(idOf(slot)),
+            arena.read(emailRef[slot]),
+            arena.read(nameRef[slot]),
+            arena.read(passwordHashRef[slot]),
+            STATUSES[flags[slot] & STATUS_MASK],
+            fromNanos(createdAt[slot]),
+            fromNanos(updatedAt[slot]),
+            versions[slot]
+        );
+    }
+
+    // ===== ids =====
+
+    /**
+     * ✅ IMPROVEMENT: Canonical UUID ids are kept as two longs; anything else goes to the arena
+     */
+    private void writeId(int slot, String id) {
+        UUID uuid = parseCanonicalUuid(id);
+        if (uuid != null) {
+            idHigh[slot] = uuid.getMostSignificantBits();
+            idLow[slot] = uuid.getLeastSignificantBits();
+            flags[slot] = 0;
+        } else {
+            idHigh[slot] = arena.append(id);
+            idLow[slot] = 0;
+            flags[slot] = STRING_ID;
+        }
+    }
+
+    private String idOf(int slot) {
+        if ((flags[slot] & STRING_ID) != 0) {
+            return arena.read(idHigh[slot]);
+        }
+        return new UUID(idHigh[slot], idLow[slot]).toString();
+    }
+
+    private int findSlot(String id) {
+        UUID uuid = parseCanonicalUuid(id);
+        int mask = idTable.length - 1;
+        for (int index = hashId(id, uuid) & mask; ; index = (index + 1) & mask) {
+            int slot = idTable[index];
+            if (slot == EMPTY) {
+                return EMPTY;
+            }
+            if (slot != TOMBSTONE && idEquals(slot, id, uuid)) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean idEquals(int slot, String id, UUID uuid) {
+        if ((flags[slot] & STRING_ID) != 0) {
+            return uuid == null && arena.read(idHigh[slot]).equals(id);
+        }
+        return uuid != null && idHigh[slot] == uuid.getMostSignificantBits() && idLow[slot] == uuid.getLeastSignificantBits();
+    }
+
+    private int hashId(String id) {
+        return hashId(id, parseCanonicalUuid(id));
+    }
+
+    private static int hashId(String id, UUID uuid) {
+        return uuid != null ? mix(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits()) : mix(id.hashCode());
+    }
+
+    private int slotIdHash(int slot) {
+        return (flags[slot] & STRING_ID) != 0 ? mix(arena.read(idHigh[slot]).hashCode()) : mix(idHigh[slot] ^ idLow[slot]);
+    }
+
+    // Only ids that round-trip exactly are packed, so idOf returns the stored value unchanged
+    private static UUID parseCanonicalUuid(String id) {
+        if (id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ===== emails =====
+
+    /**
+     * ✅ IMPROVEMENT: Probes compare the stored hash; only a hash match decodes the arena string
+     */
+    private int findEmailSlot(String emailKey) {
+        int hash = hashEmail(emailKey);
+        int mask = emailTable.length - 1;
+        for (int index = hash & mask; ; index = (index + 1) & mask) {
+            int slot = emailTable[index];
+            if (slot == EMPTY) {
+                return EMPTY;
+            }
+            if (slot != TOMBSTONE && emailHash[slot] == hash && normalize(arena.read(emailRef[slot])).equals(emailKey)) {
+                return slot;
+            }
+        }
+    }
+
+    private static int hashEmail(String emailKey) {
+        return mix(emailKey.hashCode());
+    }
+
+    private int slotEmailHash(int slot) {
+        return emailHash[slot];
+    }
+
+    // ===== creation order =====
+
+    private void insertIntoCreationOrder(int slot) {
+        UUID uuid = (flags[slot] & STRING_ID) != 0 ? null : new UUID(idHigh[slot], idLow[slot]);
+        String id = uuid == null ? arena.read(idHigh[slot]) : null;
+        int index = upperBound(createdAt[slot], id, uuid);
+        System.arraycopy(creationOrder, index, creationOrder, index + 1, creationOrderSize - index);
+        creationOrder[index] = slot;
+        creationOrderSize++;
+    }
+
+    /**
+     * First position in creationOrder ordered after (createdAt, id). New users are
+     * created now, so inserts almost always land at the end.
+     */
+    private int upperBound(long keyCreatedAt, String keyId, UUID keyUuid) {
+        int low = 0;
+        int high = creationOrderSize;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareToKey(creationOrder[middle], keyCreatedAt, keyId, keyUuid) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Same order as UserCursor. Canonical UUID strings sort like their unsigned
+     * bits, so packed ids are compared without building strings.
+     */
+    private int compareToKey(int slot, long keyCreatedAt, String keyId, UUID keyUuid) {
+        int byCreatedAt = Long.compare(createdAt[slot], keyCreatedAt);
+        if (byCreatedAt != 0) {
+            return byCreatedAt;
+        }
+        if (keyUuid != null && (flags[slot] & STRING_ID) == 0) {
+            int byHigh = Long.compareUnsigned(idHigh[slot], keyUuid.getMostSignificantBits());
+            return byHigh != 0 ? byHigh : Long.compareUnsigned(idLow[slot], keyUuid.getLeastSignificantBits());
+        }
+        return idOf(slot).compareTo(keyId != null ? keyId : keyUuid.toString());
+    }
+
+    /**
+     * Drops deleted slots from creationOrder and only now frees them for reuse
+     */
+    private void purgeCreationOrder() {
+        int kept = 0;
+        for (int index = 0; index < creationOrderSize; index++) {
+            int slot = creationOrder[index];
+            if ((flags[slot] & LIVE) != 0) {
+                creationOrder[kept++] = slot;
+                continue;
+            }
+            if ((flags[slot] & STRING_ID) != 0) {
+                arena.release(idHigh[slot]);
+            }
+            flags[slot] = 0;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+        creationOrderSize = kept;
+        deletedInOrder = 0;
+    }
+
+    // ===== storage management =====
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == flags.length) {
+            int capacity = flags.length * 2;
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            emailRef = Arrays.copyOf(emailRef, capacity);
+            nameRef = Arrays.copyOf(nameRef, capacity);
+            passwordHashRef = Arrays.copyOf(passwordHashRef, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            emailHash = Arrays.copyOf(emailHash, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            creationOrder = Arrays.copyOf(creationOrder, capacity);
+        }
+        return highWater++;
+    }
+
+    // Tables stay at most half full, tombstones included
+    private void growTablesIfNeeded() {
+        if (idTableUsed * 2 > idTable.length) {
+            idTable = rehash(idTable, size, this::slotIdHash);
+            idTableUsed = size;
+        }
+        if (emailTableUsed * 2 > emailTable.length) {
+            emailTable = rehash(emailTable, size, this::slotEmailHash);
+            emailTableUsed = size;
+        }
+    }
+
+    private static int[] rehash(int[] table, int live, SlotHash hash) {
+        int capacity = Integer.highestOneBit(Math.max(live * 4, INITIAL_CAPACITY) - 1) << 1;
+        int[] rehashed = emptyTable(capacity);
+        for (int slot : table) {
+            if (slot >= 0) {
+                insertIntoTable(rehashed, hash.of(slot), slot);
+            }
+        }
+        return rehashed;
+    }
+
+    /**
+     * Returns 1 if an empty bucket was consumed, 0 if a tombstone was reused
+     */
+    private static int insertIntoTable(int[] table, int hash, int slot) {
+        int mask = table.length - 1;
+        for (int index = hash & mask; ; index = (index + 1) & mask) {
+            int current = table[index];
+            if (current == EMPTY || current == TOMBSTONE) {
+                table[index] = slot;
+                return current == EMPTY ? 1 : 0;
+            }
+        }
+    }
+
+    private static void removeFromTable(int[] table, int hash, int slot) {
+        int mask = table.length - 1;
+        for (int index = hash & mask; table[index] != EMPTY; index = (index + 1) & mask) {
+            if (table[index] == slot) {
+                table[index] = TOMBSTONE;
+                return;
+            }
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Copy live strings into a fresh arena once most of it is garbage
+     */
+    private void compactArena() {
+        // Deleted slots still hold their ids until creationOrder lets go of them
+        if (deletedInOrder > 0) {
+            purgeCreationOrder();
+        }
+        ByteArena compacted = new ByteArena();
+        for (int slot = 0; slot < highWater; slot++) {
+            if ((flags[slot] & LIVE) == 0) {
+                continue;
+            }
+            emailRef[slot] = compacted.append(arena.read(emailRef[slot]));
+            nameRef[slot] = compacted.append(arena.read(nameRef[slot]));
+            passwordHashRef[slot] = compacted.append(arena.read(passwordHashRef[slot]));
+            if ((flags[slot] & STRING_ID) != 0) {
+                idHigh[slot] = compacted.append(arena.read(idHigh[slot]));
+            }
+        }
+        arena = compacted;
+    }
+
+    private static int[] emptyTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int mix(long value) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static long toNanos(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + value.getNano();
+    }
+
+    private static LocalDateTime fromNanos(long value) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(value, NANOS_PER_SECOND),
+            (int) Math.floorMod(value, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface SlotHash {
+        int of(int slot);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.app.after.infrastructure.persistence.wal;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.domain.valueobjects.UserId;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * ✅ COMPACT BINARY ENCODING OF USER STATE
+ * 
+ * Layout (big-endian): id, email, name, passwordHash as length-prefixed UTF-8
+ * (unsigned short length), status as one byte, createdAt and updatedAt as
+ * epoch second (long) + nano (int), then the version (long). Around 50 bytes
+ * of overhead per user on top of the string contents. Every record carries
+ * its version; a record cut short fails to decode instead of losing it.
+ */
+final class UserRecordCodec {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private UserRecordCodec() {
+    }
+
+    static byte[] encode(User user) {
+        byte[] id = utf8(user.getId().getValue());
+        byte[] email = utf8(user.getEmail().getValue());
+        byte[] name = utf8(user.getName());
+        byte[] passwordHash = utf8(user.getPasswordHash());
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+            4 * Short.BYTES + id.length + email.length + name.length + passwordHash.length
+                + 1 + 2 * (Long.BYTES + Integer.BYTES) + Long.BYTES);
+        putString(buffer, id);
+        putString(buffer, email);
+        putString(buffer, name);
+        putString(buffer, passwordHash);
+        buffer.put((byte) user.getStatus().ordinal());
+        putTimestamp(buffer, user.getCreatedAt());
+        putTimestamp(buffer, user.getUpdatedAt());
+        buffer.putLong(user.getVersion());
+        return buffer.array();
+    }
+
+    static User decode(ByteBuffer buffer) {
+        UserId id = UserId.of(getString(buffer));
+        String email = getString(buffer);
+        String name = getString(buffer);
+        String passwordHash = getString(buffer);
+        UserStatus status = STATUSES[buffer.get()];
+        LocalDateTime createdAt = getTimestamp(buffer);
+        LocalDateTime updatedAt = getTimestamp(buffer);
+        long version = buffer.getLong();
+        return User.reconstitute(id, email, name, passwordHash, status, createdAt, updatedAt, version);
+    }
+
+    static byte[] encodeId(UserId id) {
+        byte[] value = utf8(id.getValue());
+        ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES + value.length);
+        putString(buffer, value);
+        return buffer.array();
+    }
+
+    static UserId decodeId(ByteBuffer buffer) {
+        return UserId.of(getString(buffer));
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Value too long to encode: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, LocalDateTime timestamp) {
+        buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(timestamp.getNano());
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.app.after.infrastructure.persistence.wal;
+
+import com.example.app.after.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * ✅ USER SNAPSHOTS
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Full copy of the user store tagged with the WAL LSN it covers
+ * - Written to a temporary file, synced, atomically renamed, and the rename synced
+ * - Split into independently checksummed chunks listed in a trailing directory
+ * - Chunks memory-mapped and decoded in parallel on a fork-join pool
+ * - A damaged snapshot falls back to the previous one; {@link #oldestRetainedLsn} tells the
+ *   log how far back it must still reach for that fallback to be complete
+ *
+ * Format (version 2): header [magic][version][lsn], chunk bodies of
+ * [length][record] entries, a directory of [offset][length][count][crc32]
+ * per chunk, and a fixed trailer [directoryOffset][chunkCount][userCount][directoryCrc][magic].
+ */
+final class UserSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSnapshotStore.class);
+
+    private static final int MAGIC = 0x55534E50; // "USNP"
+    private static final int FORMAT = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+    private static final int DIRECTORY_ENTRY_SIZE = Long.BYTES + Integer.BYTES * 3;
+    private static final int TRAILER_SIZE = Long.BYTES * 2 + Integer.BYTES * 3;
+    private static final int USERS_PER_CHUNK = 16_384;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int RETAINED_SNAPSHOTS = 2;
+
+    /**
+     * Users recovered from a snapshot, keyed by id, and the last LSN they include.
+     */
+    record Loaded(long lsn, Map<String, User> users) {
+    }
+
+    private record Chunk(long offset, int length, int count, int crc) {
+    }
+
+    private final Path directory;
+
+    UserSnapshotStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create snapshot directory " + directory, e);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Newest readable snapshot, or an empty state at LSN 0
+     */
+    Loaded loadLatest(ForkJoinPool pool) {
+        for (Path snapshot : snapshots()) {
+            try {
+                return load(snapshot, pool);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Ignoring unreadable snapshot {}: {}", snapshot, e.getMessage());
+            }
+        }
+        return new Loaded(0, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * ✅ IMPROVEMENT: LSN of the oldest state recovery may fall back to: the oldest retained
+     * snapshot, or 0 (the empty state) while fewer than RETAINED_SNAPSHOTS exist.
+     * Log records after it must be kept.
+     */
+    long oldestRetainedLsn() {
+        List<Path> snapshots = snapshots();
+        if (snapshots.size() < RETAINED_SNAPSHOTS) {
+            return 0;
+        }
+        String name = snapshots.get(RETAINED_SNAPSHOTS - 1).getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Write a snapshot covering every record up to {@code lsn}
+     */
+    void write(long lsn, Iterator<User> users) {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(lsn);
+
+                List<Chunk> chunks = new ArrayList<>();
+                long offset = HEADER_SIZE;
+                long userCount = 0;
+                ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(1 << 20);
+                DataOutputStream chunk = new DataOutputStream(chunkBytes);
+                int chunkCount = 0;
+                while (users.hasNext()) {
+                    byte[] record = UserRecordCodec.encode(users.next());
+                    chunk.writeInt(record.length);
+                    chunk.write(record);
+                    userCount++;
+                    if (++chunkCount == USERS_PER_CHUNK || !users.hasNext()) {
+                        chunks.add(writeChunk(out, chunkBytes, offset, chunkCount));
+                        offset += chunkBytes.size();
+                        chunkBytes.reset();
+                        chunkCount = 0;
+                    }
+                }
+
+                ByteBuffer directoryBytes = ByteBuffer.allocate(chunks.size() * DIRECTORY_ENTRY_SIZE);
+                for (Chunk entry : chunks) {
+                    directoryBytes.putLong(entry.offset()).putInt(entry.length()).putInt(entry.count()).putInt(entry.crc());
+                }
+                out.write(directoryBytes.array());
+                out.writeLong(offset);
+                out.writeInt(chunks.size());
+                out.writeLong(userCount);
+                out.writeInt(crc(ByteBuffer.wrap(directoryBytes.array())));
+                out.writeInt(MAGIC);
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        }
+        deleteOlderSnapshots();
+    }
+
+    private static Chunk writeChunk(DataOutputStream out, ByteArrayOutputStream chunkBytes,
+                                    long offset, int count) throws IOException {
+        byte[] bytes = chunkBytes.toByteArray();
+        out.write(bytes);
+        return new Chunk(offset, bytes.length, count, crc(ByteBuffer.wrap(bytes)));
+    }
+
+    private Loaded load(Path snapshot, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot");
+            }
+            int version = header.getInt();
+            long lsn = header.getLong();
+            if (version != FORMAT) {
+                throw new IOException("Unknown snapshot format " + version);
+            }
+
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, channel.size() - TRAILER_SIZE, TRAILER_SIZE);
+            long directoryOffset = trailer.getLong();
+            int chunkCount = trailer.getInt();
+            long userCount = trailer.getLong();
+            int directoryCrc = trailer.getInt();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Truncated snapshot");
+            }
+
+            ByteBuffer directoryBytes = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset,
+                (long) chunkCount * DIRECTORY_ENTRY_SIZE);
+            if (crc(directoryBytes.duplicate()) != directoryCrc) {
+                throw new IOException("Snapshot directory checksum mismatch");
+            }
+            List<Chunk> chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                chunks.add(new Chunk(directoryBytes.getLong(), directoryBytes.getInt(),
+                    directoryBytes.getInt(), directoryBytes.getInt()));
+            }
+
+            // ✅ IMPROVEMENT: Each chunk is mapped and decoded independently on the pool
+            Map<String, User> users = new ConcurrentHashMap<>((int) Math.min(Integer.MAX_VALUE, userCount * 4 / 3 + 1));
+            try {
+                pool.submit(() -> chunks.parallelStream().forEach(chunk -> decodeChunk(channel, chunk, users))).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading snapshot", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Cannot decode snapshot: " + e.getCause().getMessage(), e.getCause());
+            }
+            if (users.size() != userCount) {
+                throw new IOException("Snapshot holds " + users.size() + " users, expected " + userCount);
+            }
+            return new Loaded(lsn, users);
+        }
+    }
+
+    private static void decodeChunk(FileChannel channel, Chunk chunk, Map<String, User> users) {
+        try {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset(), chunk.length());
+            if (crc(bytes.duplicate()) != chunk.crc()) {
+                throw new IllegalStateException("Chunk at offset " + chunk.offset() + " fails its checksum");
+            }
+            for (int i = 0; i < chunk.count(); i++) {
+                int length = bytes.getInt();
+                ByteBuffer record = bytes.slice(bytes.position(), length);
+                bytes.position(bytes.position() + length);
+                User user = UserRecordCodec.decode(record);
+                users.put(user.getId().getValue(), user);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Persist the rename itself; until the directory entry is on disk a crash
+     * can bring back the previous snapshot set even though the new file's bytes were synced
+     */
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Directories cannot be opened on every platform (Windows); the rename is all there is
+            log.debug("Cannot sync snapshot directory {}", directory, e);
+        }
+    }
+
+    private static int crc(ByteBuffer bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private void deleteOlderSnapshots() {
+        List<Path> snapshots = snapshots();
+        for (int i = RETAINED_SNAPSHOTS; i < snapshots.size(); i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("Could not delete old snapshot {}", snapshots.get(i), e);
+            }
+        }
+    }
+
+    // Newest first
+    private List<Path> snapshots() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = new ArrayList<>(files
+                .filter(path -> path.getFileName().toString().startsWith(PREFIX))
+                .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                .toList());
+            snapshots.sort(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed());
+            return snapshots;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list snapshots in " + directory, e);
+        }
+    }
+}
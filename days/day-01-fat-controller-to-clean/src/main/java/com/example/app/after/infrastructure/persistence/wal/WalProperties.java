@@ -0,0 +1,33 @@
+package com.example.app.after.infrastructure.persistence.wal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * ✅ WRITE-AHEAD LOG SETTINGS
+ * 
+ * Tuning for {@link WalUserRepository} ("wal" profile).
+ *
+ * @param directory              where log segments and snapshots are kept
+ * @param segmentSize            size of each memory-mapped log segment
+ * @param fsync                  wait for mutations to reach the disk before acknowledging them
+ * @param snapshotEveryRecords   take a snapshot after this many records were appended since the last one
+ * @param loadParallelism        threads used to decode snapshot chunks and rebuild indexes at startup
+ *                               (0 means one per available processor)
+ */
+@ConfigurationProperties(prefix = "users.wal")
+public record WalProperties(
+    @DefaultValue("./data/wal") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("true") boolean fsync,
+    @DefaultValue("500000") long snapshotEveryRecords,
+    @DefaultValue("0") int loadParallelism
+) {
+
+    public int effectiveLoadParallelism() {
+        return loadParallelism > 0 ? loadParallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.app.after.infrastructure.persistence.wal;
+
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import com.example.app.after.infrastructure.persistence.UserCursor;
+import com.example.app.after.infrastructure.persistence.UserPage;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ WAL-BACKED USER REPOSITORY
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - In-memory reads, durability through an append-only binary log
+ * - Group commit amortizes fsync across concurrent writers
+ * - Periodic snapshots so restart only replays the log tail
+ * - Recovery tolerates a torn final record
+ * - Memory never serves a change the log refused: a failed append rolls the save back
+ * - Startup decodes snapshot chunks and rebuilds indexes in parallel
+ * - Selected with the "wal" profile
+ */
+@Repository
+@Primary
+@Profile("wal")
+public class WalUserRepository implements UserRepository, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WalUserRepository.class);
+
+    private static final int STRIPES = 64;
+    private static final int SNAPSHOT_PAGE_SIZE = 10_000;
+
+    private final InMemoryUserRepository memory;
+    private final WalProperties properties;
+    private final UserSnapshotStore snapshots;
+    private final WriteAheadLog wal;
+
+    // Per-user ordering: the log must see one user's mutations in the order memory applied them
+    private final Object[] stripes = new Object[STRIPES];
+
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-wal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private volatile long lastSnapshotLsn;
+
+    public WalUserRepository(InMemoryUserRepository memory, WalProperties properties) {
+        this.memory = memory;
+        this.properties = properties;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+
+        long started = System.nanoTime();
+        ForkJoinPool loader = new ForkJoinPool(properties.effectiveLoadParallelism());
+        try {
+            this.snapshots = new UserSnapshotStore(properties.directory());
+            UserSnapshotStore.Loaded snapshot = snapshots.loadLatest(loader);
+            Map<String, User> state = snapshot.users();
+            int snapshotUsers = state.size();
+            long snapshotLoaded = System.nanoTime();
+            long[] replayed = {0};
+
+            this.wal = WriteAheadLog.open(properties.directory(), (int) properties.segmentSize().toBytes(),
+                properties.fsync(), snapshot.lsn(), record -> {
+                    apply(state, record);
+                    replayed[0]++;
+                });
+            long logReplayed = System.nanoTime();
+
+            // Rebuilt from the final state only, so intermediate states in the log
+            // (e.g. two users swapping emails) never trip the uniqueness checks
+            loader.submit(() -> state.values().parallelStream().forEach(memory::restore)).get();
+            this.lastSnapshotLsn = snapshot.lsn();
+
+            log.info("Recovered {} users ({} from snapshot at LSN {}, {} log records) in {} ms "
+                    + "(snapshot {} ms, log {} ms, indexes {} ms)",
+                state.size(), snapshotUsers, snapshot.lsn(), replayed[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                TimeUnit.NANOSECONDS.toMillis(snapshotLoaded - started),
+                TimeUnit.NANOSECONDS.toMillis(logReplayed - snapshotLoaded),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - logReplayed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recovering users", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot rebuild user indexes", e.getCause());
+        } finally {
+            loader.shutdown();
+        }
+    }
+
+    @Override
+    public User save(User user) {
+        long lsn;
+        synchronized (stripe(user.getId())) {
+            User previous = memory.findById(user.getId()).orElse(null);
+            memory.save(user);
+            lsn = appendOrRollBack(user, previous);
+        }
+        commit(lsn);
+        return user;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: All or nothing; if a user is refused partway, the users already saved are
+     * reverted in memory and in the log
+     */
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> saved = new ArrayList<>(users.size());
+        List<User> previousStates = new ArrayList<>(users.size());
+        long lsn = 0;
+        try {
+            for (User user : users) {
+                synchronized (stripe(user.getId())) {
+                    User previous = memory.findById(user.getId()).orElse(null);
+                    memory.save(user);
+                    lsn = appendOrRollBack(user, previous);
+                    previousStates.add(previous);
+                }
+                saved.add(user);
+            }
+        } catch (RuntimeException e) {
+            revert(saved, previousStates, e);
+            throw e;
+        }
+        // One durability wait covers the whole batch
+        commit(lsn);
+        return saved;
+    }
+
+    @Override
+    public boolean saveIfEmailAvailable(User user) {
+        long lsn;
+        synchronized (stripe(user.getId())) {
+            User previous = memory.findById(user.getId()).orElse(null);
+            if (!memory.saveIfEmailAvailable(user)) {
+                return false;
+            }
+            lsn = appendOrRollBack(user, previous);
+        }
+        commit(lsn);
+        return true;
+    }
+
+    @Override
+    public Optional<User> findById(UserId id) {
+        return memory.findById(id);
+    }
+
+    @Override
+    public List<User> findAllById(Collection<UserId> ids) {
+        return memory.findAllById(ids);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return memory.findByEmail(email);
+    }
+
+    @Override
+    public List<User> findAll(int page, int size, String status, String search) {
+        return memory.findAll(page, size, status, search);
+    }
+
+    @Override
+    public UserPage findPage(int page, int size, String status, String search) {
+        return memory.findPage(page, size, status, search);
+    }
+
+    @Override
+    public List<User> findAllAfter(UserCursor after, int size, String status, String search) {
+        return memory.findAllAfter(after, size, status, search);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return memory.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return memory.findExistingEmails(emails);
+    }
+
+    @Override
+    public long count(String status, String search) {
+        return memory.count(status, search);
+    }
+
+    @Override
+    public void delete(UserId id) {
+        long lsn;
+        synchronized (stripe(id)) {
+            // A delete cannot be refused by memory, so it is logged first
+            lsn = wal.append(WriteAheadLog.DELETE, UserRecordCodec.encodeId(id));
+            memory.delete(id);
+        }
+        commit(lsn);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        wal.close();
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Snapshot now, at an LSN the log has on disk; afterwards the log is dropped up
+     * to the oldest snapshot still retained, so falling back to it when the newest is unreadable
+     * replays a complete tail
+     */
+    public void snapshot() {
+        long lsn = wal.forceAll();
+        long started = System.nanoTime();
+        snapshots.write(lsn, allUsers());
+        wal.truncateUpTo(snapshots.oldestRetainedLsn());
+        lastSnapshotLsn = lsn;
+        log.info("Snapshot at LSN {} written in {} ms", lsn,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void commit(long lsn) {
+        wal.awaitDurable(lsn);
+        if (lsn - lastSnapshotLsn >= properties.snapshotEveryRecords() && snapshotRunning.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                } catch (RuntimeException e) {
+                    log.error("Snapshot failed", e);
+                } finally {
+                    snapshotRunning.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Log a save memory already applied; if the log refuses it (e.g. an oversized record or a
+     * failed segment roll), restore the previous state so memory only serves logged changes.
+     * Called under the user's stripe lock.
+     */
+    private long appendOrRollBack(User user, User previous) {
+        try {
+            return wal.append(WriteAheadLog.PUT, UserRecordCodec.encode(user));
+        } catch (RuntimeException e) {
+            try {
+                if (previous != null) {
+                    memory.restore(previous);
+                } else {
+                    memory.delete(user.getId());
+                }
+                user.setVersion(previous != null ? previous.getVersion() : 0);
+            } catch (RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+                log.error("Could not roll back unlogged save of user {}", user.getId().getValue(), rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Undo saves that are already in memory and in the log, newest first, by logging and
+     * applying each user's previous state. A user another writer changed since is left alone.
+     */
+    private void revert(List<User> saved, List<User> previousStates, RuntimeException cause) {
+        long lsn = 0;
+        for (int i = saved.size() - 1; i >= 0; i--) {
+            User user = saved.get(i);
+            User previous = previousStates.get(i);
+            try {
+                synchronized (stripe(user.getId())) {
+                    long current = memory.findById(user.getId()).map(User::getVersion).orElse(0L);
+                    if (current != user.getVersion()) {
+                        log.warn("Not reverting user {}: changed again since the failed batch", user.getId().getValue());
+                        continue;
+                    }
+                    if (previous != null) {
+                        lsn = wal.append(WriteAheadLog.PUT, UserRecordCodec.encode(previous));
+                        memory.restore(previous);
+                    } else {
+                        lsn = wal.append(WriteAheadLog.DELETE, UserRecordCodec.encodeId(user.getId()));
+                        memory.delete(user.getId());
+                    }
+                    user.setVersion(previous != null ? previous.getVersion() : 0);
+                }
+            } catch (RuntimeException revertFailure) {
+                cause.addSuppressed(revertFailure);
+                log.error("Could not revert user {} after a failed batch", user.getId().getValue(), revertFailure);
+            }
+        }
+        try {
+            wal.awaitDurable(lsn);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private Object stripe(UserId id) {
+        return stripes[Math.floorMod(id.getValue().hashCode(), STRIPES)];
+    }
+
+    private static void apply(Map<String, User> state, WriteAheadLog.Record record) {
+        ByteBuffer payload = record.payload();
+        if (record.type() == WriteAheadLog.PUT) {
+            User user = UserRecordCodec.decode(payload);
+            state.put(user.getId().getValue(), user);
+        } else if (record.type() == WriteAheadLog.DELETE) {
+            state.remove(UserRecordCodec.decodeId(payload).getValue());
+        } else {
+            throw new IllegalStateException("Unknown write-ahead log record type " + record.type() + " at LSN " + record.lsn());
+        }
+    }
+
+    /**
+     * Walks the store in keyset pages so a snapshot never holds a full copy of the user list.
+     * Users changed after the snapshot's LSN may be captured in their newer state; replaying
+     * the log tail over them is idempotent, so recovery still ends in the latest state.
+     */
+    private Iterator<User> allUsers() {
+        return new Iterator<>() {
+            private List<User> page = memory.findAllAfter(null, SNAPSHOT_PAGE_SIZE, null, null);
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index < page.size()) {
+                    return true;
+                }
+                if (page.size() < SNAPSHOT_PAGE_SIZE) {
+                    return false;
+                }
+                page = memory.findAllAfter(UserCursor.of(page.get(page.size() - 1)), SNAPSHOT_PAGE_SIZE, null, null);
+                index = 0;
+                return !page.isEmpty();
+            }
+
+            @Override
+            public User next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,424 @@
+package com.example.app.after.infrastructure.persistence.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * ✅ APPEND-ONLY WRITE-AHEAD LOG
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - Fixed-size, memory-mapped segment files named after their first LSN
+ * - Records framed as [length][crc32][lsn][type][payload]
+ * - Group commit: one committer thread forces the mapped pages for every
+ *   writer that arrived since the previous force
+ * - Recovery stops at the first torn or corrupt record of the last segment
+ *   and wipes it, so appends resume on a clean tail
+ * - Recovery refuses to start if the log no longer reaches back to the
+ *   snapshot it replays onto, instead of silently skipping the gap
+ * - A snapshot newer than the end of the log starts a fresh segment at its
+ *   LSN, so LSNs stay contiguous within every segment
+ */
+final class WriteAheadLog implements AutoCloseable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int FRAME_HEADER = 2 * Integer.BYTES;
+    private static final int BODY_HEADER = Long.BYTES + 1;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long BACKGROUND_FORCE_INTERVAL_MS = 1000;
+
+    /**
+     * A replayed record; the payload is only valid during the callback.
+     */
+    record Record(long lsn, byte type, ByteBuffer payload) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Segment current;
+    private long lastLsn;
+
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition commitRequested = durableLock.newCondition();
+    private final Condition durableAdvanced = durableLock.newCondition();
+    private long durableLsn;
+    private boolean commitRequestPending;
+    private volatile boolean running = true;
+    private final Thread committer;
+
+    private WriteAheadLog(Path directory, int segmentSize, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.committer = new Thread(this::commitLoop, "user-wal-committer");
+        this.committer.setDaemon(true);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Open the log, replaying every record after {@code afterLsn}
+     */
+    static WriteAheadLog open(Path directory, int segmentSize, boolean fsync,
+                              long afterLsn, Consumer<Record> replay) {
+        WriteAheadLog wal = new WriteAheadLog(directory, segmentSize, fsync);
+        try {
+            Files.createDirectories(directory);
+            wal.recover(afterLsn, replay);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log in " + directory, e);
+        }
+        wal.committer.start();
+        return wal;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Append one record; returns its LSN without waiting for the disk
+     */
+    long append(byte type, byte[] payload) {
+        int bodyLength = BODY_HEADER + payload.length;
+        int frameLength = FRAME_HEADER + bodyLength;
+        if (frameLength > segmentSize) {
+            throw new IllegalArgumentException("Record of " + frameLength + " bytes exceeds the segment size");
+        }
+
+        appendLock.lock();
+        try {
+            if (current.position + frameLength > current.buffer.capacity()) {
+                roll();
+            }
+            long lsn = ++lastLsn;
+            MappedByteBuffer buffer = current.buffer;
+            int position = current.position;
+
+            buffer.putLong(position + FRAME_HEADER, lsn);
+            buffer.put(position + FRAME_HEADER + Long.BYTES, type);
+            buffer.put(position + FRAME_HEADER + BODY_HEADER, payload);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(position + FRAME_HEADER, bodyLength));
+            buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            buffer.putInt(position, bodyLength);
+
+            current.position = position + frameLength;
+            return lsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Block until the record is on disk; concurrent callers share one force
+     */
+    void awaitDurable(long lsn) {
+        if (fsync) {
+            awaitForced(lsn);
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Force everything appended so far, even without fsync, and return the
+     * LSN it covers; a snapshot taken at that LSN never runs ahead of the log on disk
+     */
+    long forceAll() {
+        long lsn = lastLsn();
+        awaitForced(lsn);
+        return lsn;
+    }
+
+    private void awaitForced(long lsn) {
+        durableLock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (!running) {
+                    throw new TaskRejectedException("Write-ahead log is closed");
+                }
+                commitRequestPending = true;
+                commitRequested.signal();
+                durableAdvanced.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for the write-ahead log", e);
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    long lastLsn() {
+        appendLock.lock();
+        try {
+            return lastLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Drop segments whose records are all covered by a snapshot
+     */
+    void truncateUpTo(long snapshotLsn) {
+        appendLock.lock();
+        try {
+            List<Path> segments = segments();
+            for (int i = 0; i < segments.size() - 1; i++) {
+                Path segment = segments.get(i);
+                if (segment.equals(current.path) || firstLsn(segments.get(i + 1)) > snapshotLsn + 1) {
+                    break;
+                }
+                Files.deleteIfExists(segment);
+            }
+        } catch (IOException e) {
+            log.warn("Could not truncate write-ahead log up to LSN {}", snapshotLsn, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        durableLock.lock();
+        try {
+            commitRequested.signalAll();
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            current.buffer.force();
+            current.channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close write-ahead log segment {}", current.path, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void commitLoop() {
+        while (running) {
+            durableLock.lock();
+            try {
+                if (fsync) {
+                    while (running && !commitRequestPending) {
+                        commitRequested.await();
+                    }
+                } else {
+                    commitRequested.await(BACKGROUND_FORCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                }
+                commitRequestPending = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                durableLock.unlock();
+            }
+            commit();
+        }
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Force everything appended so far and release all waiting writers
+     */
+    private void commit() {
+        Segment segment;
+        int end;
+        long target;
+        appendLock.lock();
+        try {
+            segment = current;
+            end = segment.position;
+            target = lastLsn;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (end > segment.forced) {
+            segment.buffer.force(segment.forced, end - segment.forced);
+            segment.forced = end;
+        }
+
+        durableLock.lock();
+        try {
+            durableLsn = Math.max(durableLsn, target);
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void roll() {
+        try {
+            current.buffer.force();
+            current.channel.close();
+            current = Segment.create(directory.resolve(segmentName(lastLsn + 1)), segmentSize, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll write-ahead log segment", e);
+        }
+    }
+
+    private void recover(long afterLsn, Consumer<Record> replay) throws IOException {
+        List<Path> segments = segments();
+        lastLsn = afterLsn;
+        if (segments.isEmpty()) {
+            current = Segment.create(directory.resolve(segmentName(afterLsn + 1)), segmentSize, 0);
+            durableLsn = lastLsn;
+            return;
+        }
+
+        long expectedLsn = Math.min(firstLsn(segments.get(0)), afterLsn + 1);
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            boolean last = i == segments.size() - 1;
+            long segmentLsn = firstLsn(path);
+            // A segment may only start past the previous one's end if the snapshot covers the gap
+            if (segmentLsn > expectedLsn && segmentLsn <= afterLsn + 1) {
+                expectedLsn = segmentLsn;
+            }
+            if (segmentLsn != expectedLsn) {
+                throw new IllegalStateException(i == 0
+                    ? "Write-ahead log starts at LSN " + segmentLsn + " but the snapshot covers only up to LSN " + afterLsn
+                        + "; records " + (afterLsn + 1) + " to " + (segmentLsn - 1) + " are missing"
+                    : "Write-ahead log segment " + path + " does not follow LSN " + (expectedLsn - 1));
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                ScanResult scan = scan(buffer, expectedLsn, afterLsn, replay);
+                expectedLsn = scan.nextLsn();
+                if (scan.torn() && !last) {
+                    throw new IllegalStateException("Corrupt record inside write-ahead log segment " + path);
+                }
+                if (last) {
+                    current = Segment.create(path, (int) Math.max(segmentSize, channel.size()), scan.end());
+                    if (scan.torn()) {
+                        log.warn("Discarding torn record at offset {} of {}", scan.end(), path);
+                        wipe(current.buffer, scan.end());
+                    }
+                }
+            }
+        }
+        if (afterLsn >= expectedLsn) {
+            // The snapshot is ahead of the log (records it covers never reached the disk), so
+            // appending here would leave a hole that the next recovery reads as a torn tail
+            log.warn("Snapshot at LSN {} is ahead of the write-ahead log, which ends at LSN {}; starting a new segment",
+                afterLsn, expectedLsn - 1);
+            current.channel.close();
+            if (current.position == 0) {
+                Files.deleteIfExists(current.path);
+            }
+            current = Segment.create(directory.resolve(segmentName(afterLsn + 1)), segmentSize, 0);
+        }
+        lastLsn = Math.max(afterLsn, expectedLsn - 1);
+        durableLsn = lastLsn;
+    }
+
+    private ScanResult scan(ByteBuffer buffer, long firstLsn, long afterLsn, Consumer<Record> replay) {
+        int position = 0;
+        long expectedLsn = firstLsn;
+        int limit = buffer.limit();
+        while (position + FRAME_HEADER <= limit) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength == 0) {
+                return new ScanResult(position, expectedLsn, false);
+            }
+            if (bodyLength < BODY_HEADER || position + FRAME_HEADER + bodyLength > limit) {
+                return new ScanResult(position, expectedLsn, true);
+            }
+            ByteBuffer body = buffer.slice(position + FRAME_HEADER, bodyLength);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES) || body.getLong(0) != expectedLsn) {
+                return new ScanResult(position, expectedLsn, true);
+            }
+            if (expectedLsn > afterLsn) {
+                replay.accept(new Record(expectedLsn, body.get(Long.BYTES), body.slice(BODY_HEADER, bodyLength - BODY_HEADER)));
+            }
+            expectedLsn++;
+            position += FRAME_HEADER + bodyLength;
+        }
+        return new ScanResult(position, expectedLsn, false);
+    }
+
+    private static void wipe(MappedByteBuffer buffer, int from) {
+        byte[] zeros = new byte[64 * 1024];
+        for (int position = from; position < buffer.capacity(); position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+        }
+        buffer.force();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .toList());
+            segments.sort((a, b) -> Long.compare(firstLsn(a), firstLsn(b)));
+            return segments;
+        }
+    }
+
+    private static String segmentName(long firstLsn) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX);
+    }
+
+    private static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private record ScanResult(int end, long nextLsn, boolean torn) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int forced;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer, int position) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = position;
+            this.forced = position;
+        }
+
+        static Segment create(Path path, int size, int position) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(path, channel, buffer, position);
+        }
+    }
+}
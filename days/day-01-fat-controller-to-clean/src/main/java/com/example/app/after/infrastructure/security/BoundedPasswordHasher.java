@@ -0,0 +1,200 @@
+package com.example.app.after.infrastructure.security;
+
+import com.example.app.after.domain.PasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ BOUNDED PASSWORD HASHER
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - PBKDF2 runs on its own CPU-sized pool; request threads only wait, so a burst of signups
+ *   can use at most those cores and never starves reads of CPU
+ * - At most threads + queue-capacity hashes admitted; beyond that {@link #hash} fails at once
+ *   with a TaskRejectedException (503) instead of queueing latency without bound
+ * - {@link #hashWhenAdmitted} waits for room instead, for batch callers such as imports
+ * - Iterations calibrated to users.password.target-latency at startup, unless fixed, and raised
+ *   later if measured hashes come in under target (a cold JIT makes the startup probe slow);
+ *   never lowered at runtime, so load cannot weaken new hashes
+ * - users.password.hash (compute) and users.password.hash.wait (queued) timers,
+ *   users.password.hash.queue / active gauges, users.password.hash.rejected counter
+ */
+@Component
+public class BoundedPasswordHasher implements PasswordHasher, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordHasher.class);
+
+    // Hashes whose mean compute time is compared with the target before iterations are raised
+    private static final int RECALIBRATION_SAMPLES = 16;
+
+    private volatile Pbkdf2PasswordHasher delegate;
+    private final ThreadPoolExecutor executor;
+    private final long targetNanos;
+    private final boolean recalibrate;
+
+    // One permit per running or queued hash; released when the hash completes
+    private final Semaphore admissions;
+
+    private final Timer hashTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    // Compute time and count of the hashes since the last recalibration, guarded by this
+    private long sampleNanos;
+    private int samples;
+
+    public BoundedPasswordHasher(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int iterations = properties.iterations() > 0
+            ? properties.iterations()
+            : Pbkdf2PasswordHasher.calibrate(properties.targetLatency(), properties.minIterations());
+        int threads = properties.threadCount();
+        this.delegate = new Pbkdf2PasswordHasher(iterations);
+        this.targetNanos = properties.targetLatency().toNanos();
+        this.recalibrate = properties.iterations() == 0;
+        this.admissions = new Semaphore(threads + properties.queueCapacity());
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        this.hashTimer = Timer.builder("users.password.hash")
+            .description("Time spent computing one password hash")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("users.password.hash.wait")
+            .description("Time a password hash waited for a hashing thread")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("users.password.hash.rejected")
+            .description("Password hashes refused because the hashing queue was full")
+            .register(meterRegistry);
+        Gauge.builder("users.password.hash.queue", executor, pool -> pool.getQueue().size())
+            .description("Password hashes waiting for a hashing thread")
+            .register(meterRegistry);
+        Gauge.builder("users.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashes being computed")
+            .register(meterRegistry);
+        Gauge.builder("users.password.hash.iterations", this, hasher -> hasher.delegate.iterations())
+            .register(meterRegistry);
+
+        log.info("Password hashing: PBKDF2-HMAC-SHA256 with {} iterations ({}), {} threads, queue {}",
+            iterations, properties.iterations() > 0 ? "fixed" : "calibrated to " + properties.targetLatency(),
+            threads, properties.queueCapacity());
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Hash on the hashing pool, or fail fast if it is saturated
+     */
+    @Override
+    public String hash(String password) {
+        if (!admissions.tryAcquire()) {
+            rejected.increment();
+            throw new TaskRejectedException("Password hashing is at capacity (" + executor.getQueue().size()
+                + " queued), retry later");
+        }
+        return submit(password);
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Hash on the hashing pool, waiting for room if it is saturated
+     */
+    public String hashWhenAdmitted(String password) {
+        try {
+            admissions.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for password hashing capacity", e);
+        }
+        return submit(password);
+    }
+
+    public boolean matches(String password, String hash) {
+        return delegate.matches(password, hash);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Raise iterations towards the target latency once enough hashes at the
+     * current count were measured; at most doubled per step
+     */
+    private synchronized void sample(Pbkdf2PasswordHasher hasher, long elapsedNanos) {
+        if (hasher != delegate) {
+            return;
+        }
+        sampleNanos += elapsedNanos;
+        if (++samples < RECALIBRATION_SAMPLES) {
+            return;
+        }
+        long mean = sampleNanos / samples;
+        sampleNanos = 0;
+        samples = 0;
+        if (mean >= targetNanos - targetNanos / 10) {
+            return;
+        }
+        long raised = Math.min((long) hasher.iterations() * targetNanos / Math.max(mean, 1),
+            2L * hasher.iterations());
+        delegate = new Pbkdf2PasswordHasher((int) Math.min(raised, Integer.MAX_VALUE));
+        log.info("Password hashing: {} iterations took {} ms on average, raised to {}",
+            hasher.iterations(), TimeUnit.NANOSECONDS.toMillis(mean), raised);
+    }
+
+    private String submit(String password) {
+        long queued = System.nanoTime();
+        Future<String> result;
+        try {
+            result = executor.submit(() -> {
+                long start = System.nanoTime();
+                waitTimer.record(start - queued, TimeUnit.NANOSECONDS);
+                Pbkdf2PasswordHasher hasher = delegate;
+                try {
+                    return hasher.hash(password);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    hashTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                    admissions.release();
+                    if (recalibrate) {
+                        sample(hasher, elapsed);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admissions.release();
+            throw new TaskRejectedException("Password hashing is shut down", e);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
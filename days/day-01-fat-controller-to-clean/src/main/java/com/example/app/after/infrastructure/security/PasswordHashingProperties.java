@@ -0,0 +1,40 @@
+package com.example.app.after.infrastructure.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ✅ PASSWORD HASHING SETTINGS
+ *
+ * Tuning for {@link BoundedPasswordHasher}.
+ *
+ * @param targetLatency  how long one hash should take; PBKDF2 iterations are calibrated to it at startup
+ * @param iterations     fixed PBKDF2 iteration count instead of calibrating (0 = calibrate)
+ * @param minIterations  floor for the calibrated count, however slow the machine
+ * @param threads        hashing threads (0 = one per available processor)
+ * @param queueCapacity  hashes allowed to wait for a thread before new ones are rejected
+ */
+@ConfigurationProperties(prefix = "users.password")
+public record PasswordHashingProperties(
+    @DefaultValue("100ms") Duration targetLatency,
+    @DefaultValue("0") int iterations,
+    @DefaultValue("10000") int minIterations,
+    @DefaultValue("0") int threads,
+    @DefaultValue("32") int queueCapacity
+) {
+
+    public PasswordHashingProperties {
+        if (iterations < 0 || minIterations < 1) {
+            throw new IllegalArgumentException("users.password.iterations must be >= 0 and min-iterations >= 1");
+        }
+        if (threads < 0 || queueCapacity < 0) {
+            throw new IllegalArgumentException("users.password.threads and queue-capacity must not be negative");
+        }
+    }
+
+    int threadCount() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
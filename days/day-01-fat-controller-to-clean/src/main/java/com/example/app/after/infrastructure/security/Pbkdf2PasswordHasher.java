@@ -0,0 +1,119 @@
+package com.example.app.after.infrastructure.security;
+
+import com.example.app.after.domain.PasswordHasher;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * ✅ PBKDF2 PASSWORD HASHER
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - PBKDF2-HMAC-SHA256 from the JDK, 128-bit random salt per password, 256-bit key
+ * - Self-describing hashes ($pbkdf2-sha256$iterations$salt$key): raising the cost later
+ *   leaves existing hashes verifiable
+ * - Iteration count calibrated to a target latency on the machine it runs on
+ * - Constant-time comparison when verifying
+ *
+ * CPU-bound by design; run it through {@link BoundedPasswordHasher}, not on request threads.
+ */
+public final class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "$pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+
+    // Calibration probes until the fastest probe stops improving, within a time budget
+    private static final int CALIBRATION_ITERATIONS = 2_000;
+    private static final int CALIBRATION_STABLE_ROUNDS = 10;
+    private static final Duration CALIBRATION_BUDGET = Duration.ofSeconds(3);
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("PBKDF2 needs at least one iteration");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Iterations for one hash to take about {@code targetLatency} here, never
+     * fewer than {@code minIterations}. Probes are repeated until JIT-compiled code stops
+     * getting faster, so warm-up does not make the machine look slower than it is.
+     */
+    public static int calibrate(Duration targetLatency, int minIterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        char[] password = "calibration".toCharArray();
+        long fastest = Long.MAX_VALUE;
+        long deadline = System.nanoTime() + CALIBRATION_BUDGET.toNanos();
+        for (int stable = 0; stable < CALIBRATION_STABLE_ROUNDS && System.nanoTime() < deadline; ) {
+            long start = System.nanoTime();
+            derive(password, salt, CALIBRATION_ITERATIONS);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed < fastest - fastest / 20) {
+                fastest = elapsed;
+                stable = 0;
+            } else {
+                stable++;
+            }
+        }
+        long iterations = CALIBRATION_ITERATIONS * targetLatency.toNanos() / Math.max(fastest, 1);
+        return (int) Math.min(Math.max(iterations, minIterations), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] key = derive(password.toCharArray(), salt, iterations);
+        return PREFIX + iterations + '$' + ENCODER.encodeToString(salt) + '$' + ENCODER.encodeToString(key);
+    }
+
+    /**
+     * True if {@code hash} was produced by this scheme (at any iteration count) from {@code password}
+     */
+    public boolean matches(String password, String hash) {
+        if (hash == null || !hash.startsWith(PREFIX)) {
+            return false;
+        }
+        String[] parts = hash.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            byte[] salt = DECODER.decode(parts[1]);
+            byte[] expected = DECODER.decode(parts[2]);
+            return storedIterations > 0
+                && MessageDigest.isEqual(expected, derive(password.toCharArray(), salt, storedIterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
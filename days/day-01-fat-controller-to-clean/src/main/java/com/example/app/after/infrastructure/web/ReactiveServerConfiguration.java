@@ -0,0 +1,22 @@
+package com.example.app.after.infrastructure.web;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * ✅ NETTY FOR THE REACTIVE PROFILE
+ * 
+ * Tomcat stays on the classpath for the servlet stack and Boot would prefer it for
+ * WebFlux too; an event-loop server suits many slow, mostly idle connections better.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
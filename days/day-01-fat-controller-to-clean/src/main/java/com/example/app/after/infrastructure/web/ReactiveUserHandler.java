@@ -0,0 +1,141 @@
+package com.example.app.after.infrastructure.web;
+
+import com.example.app.after.application.dto.CreateUserRequest;
+import com.example.app.after.application.dto.UpdateUserRequest;
+import com.example.app.after.application.dto.UserResponse;
+import com.example.app.after.application.service.ReactiveUserApplicationService;
+import com.example.app.after.application.service.UserApplicationService.EmailAlreadyExistsException;
+import com.example.app.after.application.service.UserApplicationService.UserNotFoundException;
+import com.example.app.after.domain.UserInvariantException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * ✅ REACTIVE USER HANDLER
+ * 
+ * IMPROVEMENTS IMPLEMENTED:
+ * - HTTP concerns only, use cases live in ReactiveUserApplicationService
+ * - Listing streams users with backpressure, as NDJSON when the client accepts it
+ * - Same error statuses and problem details as the /api/v2 controller
+ */
+@Component
+@Profile("reactive")
+public class ReactiveUserHandler {
+
+    private final ReactiveUserApplicationService userService;
+    public ReactiveUserHandler(ReactiveUserApplicationService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * ✅ IMPROVEMENT: Users are written as the repository emits them; ?limit= stops the stream early
+     */
+    public Mono<ServerResponse> streamUsers(ServerRequest request) {
+        String status = request.queryParam("status").orElse(null);
+        String search = request.queryParam("search").orElse(null);
+        Flux<UserResponse> users = userService.streamUsers(status, search);
+
+        String limit = request.queryParam("limit").orElse(null);
+        if (limit != null) {
+            int max;
+            try {
+                max = Integer.parseInt(limit);
+            } catch (NumberFormatException e) {
+                return problem(HttpStatus.BAD_REQUEST, "Limit must be a number");
+            }
+            if (max < 1) {
+                return problem(HttpStatus.BAD_REQUEST, "Limit must be at least 1");
+            }
+            users = users.take(max);
+        }
+
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+            ? MediaType.APPLICATION_NDJSON
+            : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(mediaType).body(users, UserResponse.class);
+    }
+
+    public Mono<ServerResponse> countUsers(ServerRequest request) {
+        return userService.countUsers(request.queryParam("status").orElse(null), request.queryParam("search").orElse(null))
+            .flatMap(count -> ServerResponse.ok().bodyValue(count))
+            .onErrorResume(this::error);
+    }
+
+    public Mono<ServerResponse> getUserById(ServerRequest request) {
+        return userService.getUserById(request.pathVariable("id"))
+            .flatMap(user -> ServerResponse.ok().bodyValue(user))
+            .onErrorResume(this::error);
+    }
+
+    public Mono<ServerResponse> createUser(ServerRequest request) {
+        return request.bodyToMono(CreateUserRequest.class)
+            .flatMap(userService::createUser)
+            .flatMap(user -> ServerResponse.created(URI.create("/api/reactive/users/" + user.id())).bodyValue(user))
+            .switchIfEmpty(problem(HttpStatus.BAD_REQUEST, "Request body is required"))
+            .onErrorResume(this::error);
+    }
+
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        return request.bodyToMono(UpdateUserRequest.class)
+            .flatMap(update -> userService.updateUser(request.pathVariable("id"), update))
+            .flatMap(user -> ServerResponse.ok().bodyValue(user))
+            .switchIfEmpty(problem(HttpStatus.BAD_REQUEST, "Request body is required"))
+            .onErrorResume(this::error);
+    }
+
+    public Mono<ServerResponse> activateUser(ServerRequest request) {
+        return userService.activateUser(request.pathVariable("id"))
+            .flatMap(user -> ServerResponse.ok().bodyValue(user))
+            .onErrorResume(this::error);
+    }
+
+    public Mono<ServerResponse> deactivateUser(ServerRequest request) {
+        return userService.deactivateUser(request.pathVariable("id"))
+            .flatMap(user -> ServerResponse.ok().bodyValue(user))
+            .onErrorResume(this::error);
+    }
+
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        return userService.deleteUser(request.pathVariable("id"))
+            .then(ServerResponse.noContent().build())
+            .onErrorResume(this::error);
+    }
+
+    private Mono<ServerResponse> error(Throwable error) {
+        if (error instanceof UserNotFoundException) {
+            return problem(HttpStatus.NOT_FOUND, error.getMessage());
+        }
+        if (error instanceof EmailAlreadyExistsException || error instanceof UserInvariantException
+                || error instanceof OptimisticLockingFailureException) {
+            return problem(HttpStatus.CONFLICT, error.getMessage());
+        }
+        if (error instanceof IllegalArgumentException) {
+            return problem(HttpStatus.BAD_REQUEST, error.getMessage());
+        }
+        if (error instanceof TaskRejectedException) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, error.getMessage()));
+        }
+        return Mono.error(error);
+    }
+
+    private static Mono<ServerResponse> problem(HttpStatus status, String detail) {
+        return ServerResponse.status(status)
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .bodyValue(ProblemDetail.forStatusAndDetail(status, detail));
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.app.after.infrastructure.web;
+
+import com.example.app.after.application.dto.CreateUserRequest;
+import com.example.app.after.application.dto.UserImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * ✅ STREAMING USER IMPORT READER
+ *
+ * Parses a bulk import body (CSV with an email,name,password header, or NDJSON
+ * objects shaped like CreateUserRequest) one row at a time as the import
+ * consumes it. A malformed row becomes an invalid row, not a failed import;
+ * blank lines are skipped.
+ */
+final class UserImportReader {
+
+    static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private UserImportReader() {
+    }
+
+    static Iterator<UserImportRow> read(MediaType contentType, InputStream body, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return new CsvRows(reader);
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new NdjsonRows(reader, objectMapper.readerFor(CreateUserRequest.class));
+        }
+        throw new IllegalArgumentException("Content type must be text/csv or application/x-ndjson");
+    }
+
+    private abstract static class Rows implements Iterator<UserImportRow> {
+        private UserImportRow next;
+        private long row;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = parse(row + 1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (next != null) {
+                    row++;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public UserImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            UserImportRow current = next;
+            next = null;
+            return current;
+        }
+
+        /**
+         * The next row, or null at the end of the body
+         */
+        abstract UserImportRow parse(long row) throws IOException;
+    }
+
+    private static final class NdjsonRows extends Rows {
+        private final BufferedReader reader;
+        private final ObjectReader requestReader;
+
+        NdjsonRows(BufferedReader reader, ObjectReader requestReader) {
+            this.reader = reader;
+            this.requestReader = requestReader;
+        }
+
+        @Override
+        UserImportRow parse(long row) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            try {
+                return UserImportRow.of(row, requestReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                return UserImportRow.invalid(row, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvRows extends Rows {
+        private final Reader reader;
+        private int emailColumn = -1;
+        private int nameColumn = -1;
+        private int passwordColumn = -1;
+        private int columns;
+        private boolean headerRead;
+        private boolean unterminatedQuote;
+
+        CsvRows(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        UserImportRow parse(long row) throws IOException {
+            if (!headerRead) {
+                readHeader();
+            }
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (unterminatedQuote) {
+                return UserImportRow.invalid(row, "Unterminated quoted field");
+            }
+            if (fields.size() != columns) {
+                return UserImportRow.invalid(row, "Expected " + columns + " fields but found " + fields.size());
+            }
+            return UserImportRow.of(row, new CreateUserRequest(
+                fields.get(emailColumn), fields.get(nameColumn), fields.get(passwordColumn)));
+        }
+
+        private void readHeader() throws IOException {
+            headerRead = true;
+            List<String> header = readRecord();
+            if (header == null) {
+                return;
+            }
+            columns = header.size();
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "email" -> emailColumn = i;
+                    case "name" -> nameColumn = i;
+                    case "password" -> passwordColumn = i;
+                    default -> {
+                        // Extra columns are ignored
+                    }
+                }
+            }
+            if (emailColumn < 0 || nameColumn < 0 || passwordColumn < 0) {
+                throw new IllegalArgumentException("CSV header must name email, name and password columns");
+            }
+        }
+
+        /**
+         * ✅ IMPROVEMENT: RFC 4180 record; quoted fields may hold commas, doubled quotes and
+         * line breaks. Returns null at the end of the body, skipping blank lines.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>(columns > 0 ? columns : 4);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            unterminatedQuote = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    any = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    any = true;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (any || field.length() > 0) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                } else {
+                    field.append((char) c);
+                    any = true;
+                }
+            }
+            if (!any && field.length() == 0) {
+                return null;
+            }
+            unterminatedQuote = quoted;
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.app.after.infrastructure.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * ✅ SERIALIZED USER CACHE SETTINGS
+ * 
+ * Tuning for {@link UserJsonCache}.
+ *
+ * @param maximumSize users whose serialized JSON is kept
+ */
+@ConfigurationProperties(prefix = "users.json-cache")
+public record UserJsonCacheProperties(
+    @DefaultValue("10000") long maximumSize
+) {
+}
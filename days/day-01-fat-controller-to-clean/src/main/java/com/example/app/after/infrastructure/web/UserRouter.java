@@ -0,0 +1,34 @@
+package com.example.app.after.infrastructure.web;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * ✅ REACTIVE USER ROUTES
+ * 
+ * Functional WebFlux endpoints for the after stack, served with the "reactive" profile.
+ */
+@Configuration
+@Profile("reactive")
+public class UserRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(ReactiveUserHandler handler) {
+        return route()
+            .path("/api/reactive/users", users -> users
+                .GET("", handler::streamUsers)
+                .GET("/count", handler::countUsers)
+                .GET("/{id}", handler::getUserById)
+                .POST("", handler::createUser)
+                .PUT("/{id}", handler::updateUser)
+                .POST("/{id}/activate", handler::activateUser)
+                .POST("/{id}/deactivate", handler::deactivateUser)
+                .DELETE("/{id}", handler::deleteUser))
+            .build();
+    }
+}
@@ -162,8 +162,8 @@ public class UserController {
                 "email", user.get("email"),
                 "name", user.get("name"),
                 "status", user.get("status"),
-                "createdAt", user.get("created_at"),
-                "updatedAt", user.get("updated_at")
+                "createdAt", user.get("createdAt"),
+                "updatedAt", user.get("updatedAt")
             );
             
             return ResponseEntity.ok(response);
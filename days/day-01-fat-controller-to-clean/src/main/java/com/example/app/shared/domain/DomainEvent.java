@@ -1,7 +1,6 @@
 package com.example.app.shared.domain;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * Base class for Domain Events in Domain-Driven Design.
@@ -16,7 +15,7 @@ public abstract class DomainEvent {
     private final String eventType;
     
     protected DomainEvent() {
-        this.eventId = UUID.randomUUID().toString();
+        this.eventId = IdGenerators.nextId();
         this.occurredOn = LocalDateTime.now();
         this.eventType = this.getClass().getSimpleName();
     }
@@ -0,0 +1,22 @@
+package com.example.app.shared.domain;
+
+import java.util.List;
+
+/**
+ * Consumer of published domain events.
+ *
+ * Receives events in publication order, in batches of one or more; the list is
+ * only valid for the duration of the call.
+ */
+@FunctionalInterface
+public interface DomainEventHandler {
+
+    void handle(List<DomainEvent> events);
+
+    /**
+     * Name used for this handler's thread and metrics
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.app.shared.domain;
+
+import java.util.List;
+
+/**
+ * Port for handing domain events raised by an aggregate to whoever consumes them.
+ *
+ * Called once the aggregate has been saved; implementations must not block the
+ * caller on the consumers.
+ */
+@FunctionalInterface
+public interface DomainEventPublisher {
+
+    void publish(List<DomainEvent> events);
+}
@@ -11,6 +11,9 @@ import java.util.Objects;
 public abstract class Entity<ID> {
     
     private final ID id;
+
+    // Version of the stored state this instance was read from; 0 until first stored
+    private long version;
     
     protected Entity(ID id) {
         this.id = id;
@@ -19,6 +22,18 @@ public abstract class Entity<ID> {
     public ID getId() {
         return id;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set by repositories when the entity is loaded and after each successful
+     * compare-and-set save; not part of the entity's identity.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
     
     @Override
     public boolean equals(Object obj) {
@@ -0,0 +1,29 @@
+package com.example.app.shared.domain;
+
+import java.util.UUID;
+
+/**
+ * Port for generating identifiers of entities and domain events.
+ *
+ * Implementations must be thread-safe; {@link IdGenerators} holds the one in use.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    UUID next();
+
+    /**
+     * Version 4 UUIDs from the shared SecureRandom: unpredictable, but unordered and
+     * serialized on the SecureRandom under concurrent use
+     */
+    static IdGenerator random() {
+        return UUID::randomUUID;
+    }
+
+    /**
+     * Version 7 UUIDs, time-ordered and monotonic within this JVM
+     */
+    static IdGenerator timeOrdered() {
+        return new TimeOrderedIdGenerator();
+    }
+}
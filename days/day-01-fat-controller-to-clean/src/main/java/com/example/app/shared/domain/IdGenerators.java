@@ -0,0 +1,28 @@
+package com.example.app.shared.domain;
+
+/**
+ * The {@link IdGenerator} used by entity and domain event factories, which are created
+ * with {@code new} and cannot have one injected. Time-ordered unless replaced at startup.
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator current = IdGenerator.timeOrdered();
+
+    private IdGenerators() {
+    }
+
+    public static String nextId() {
+        return current.next().toString();
+    }
+
+    public static IdGenerator current() {
+        return current;
+    }
+
+    public static void use(IdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Id generator cannot be null");
+        }
+        current = generator;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.app.shared.domain;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ TIME-ORDERED ID GENERATOR (UUIDv7, RFC 9562)
+ *
+ * IMPROVEMENTS IMPLEMENTED:
+ * - 48-bit Unix millisecond timestamp first: ids sort (as UUIDs and as their canonical
+ *   strings) in creation order, so new keys land at the right edge of a B-tree index
+ *   instead of on a random page
+ * - 12-bit sequence within the millisecond (rand_a) from one CAS on a shared counter:
+ *   every id is greater than the one before it in this JVM, even across threads and if the
+ *   wall clock steps back; more than 4096 ids in a millisecond borrow from the next one
+ * - 62 random bits (rand_b) from ThreadLocalRandom, no shared SecureRandom lock
+ *
+ * The ids reveal their creation time and the random part is not cryptographically strong;
+ * they identify records, they are not secrets.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    // Unix milliseconds << 12 | sequence, of the last id handed out
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    @Override
+    public UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = lastTimeAndSequence.get();
+            next = Math.max(last + 1, now);
+        } while (!lastTimeAndSequence.compareAndSet(last, next));
+
+        long mostSigBits = (next >>> SEQUENCE_BITS) << 16   // unix_ts_ms
+            | 0x7000L                                        // version 7
+            | (next & ((1 << SEQUENCE_BITS) - 1));           // sequence
+        long leastSigBits = ThreadLocalRandom.current().nextLong() >>> 2
+            | 0x8000_0000_0000_0000L;                        // variant 10
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,12 @@
+-- Transactional outbox for user domain events ("outbox" profile). Portable between PostgreSQL and H2.
+
+CREATE TABLE IF NOT EXISTS user_event_outbox (
+    seq         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id    VARCHAR(64)   NOT NULL,
+    event_type  VARCHAR(100)  NOT NULL,
+    occurred_on TIMESTAMP     NOT NULL,
+    payload     VARCHAR(4000) NOT NULL
+);
+
+-- One row per event; the id is also what consumers deduplicate redeliveries on
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_event_outbox_event_id ON user_event_outbox (event_id);
@@ -0,0 +1,25 @@
+-- Schema for JdbcUserRepository ("jdbc" profile). Portable between PostgreSQL and H2.
+
+CREATE TABLE IF NOT EXISTS app_users (
+    id            VARCHAR(64)  NOT NULL PRIMARY KEY,
+    email         VARCHAR(255) NOT NULL,
+    email_key     VARCHAR(255) NOT NULL,
+    name          VARCHAR(100) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    status        VARCHAR(16)  NOT NULL,
+    created_at    TIMESTAMP    NOT NULL,
+    updated_at    TIMESTAMP    NOT NULL,
+    version       BIGINT       NOT NULL DEFAULT 1
+);
+
+-- Compare-and-set version, added to tables created before it existed
+ALTER TABLE app_users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+
+-- Case-insensitive uniqueness and O(log N) lookups by email
+CREATE UNIQUE INDEX IF NOT EXISTS ux_app_users_email_key ON app_users (email_key);
+
+-- Status-filtered listings and counts
+CREATE INDEX IF NOT EXISTS ix_app_users_status ON app_users (status);
+
+-- Stable ordering and keyset pagination on (created_at, id)
+CREATE INDEX IF NOT EXISTS ix_app_users_created_at ON app_users (created_at, id);
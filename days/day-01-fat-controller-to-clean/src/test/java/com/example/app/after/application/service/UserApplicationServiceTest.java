@@ -0,0 +1,288 @@
+package com.example.app.after.application.service;
+
+import com.example.app.after.application.dto.UpdateUserRequest;
+import com.example.app.after.application.mapper.UserMapper;
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import com.example.app.after.infrastructure.persistence.JdbcUserRepository;
+import com.example.app.after.infrastructure.persistence.UserCursor;
+import com.example.app.after.infrastructure.persistence.UserPage;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * UserApplicationService's retry on version conflicts, with many writers on one user, in
+ * memory and on a pooled H2 database with a real transaction manager.
+ */
+class UserApplicationServiceTest {
+
+    private static final PasswordHasher HASHER = password -> "hash:" + password;
+    private static final int WRITERS = 16;
+    private static final int UPDATES_PER_WRITER = 10;
+
+    private static HikariDataSource dataSource;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:user_application_service;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(WRITERS);
+        new ResourceDatabasePopulator(new ClassPathResource("db/users-schema.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        dataSource.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"in-memory", "jdbc"})
+    void everyContendedUpdateLandsWhenRetriesSuffice(String store) throws Exception {
+        Fixture fixture = fixture(store, new UserRetryProperties(100, Duration.ofMillis(1), Duration.ofMillis(20)));
+        User user = fixture.repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+
+        Outcome outcome = contend(fixture.service, user.getId().getValue());
+
+        assertThat(outcome.conflicts()).isZero();
+        assertThat(fixture.repository.findById(user.getId()).orElseThrow().getVersion())
+            .isEqualTo(1 + WRITERS * UPDATES_PER_WRITER);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"in-memory", "jdbc"})
+    void conflictsThatExhaustTheRetriesNeverLoseAnUpdate(String store) throws Exception {
+        Fixture fixture = fixture(store, new UserRetryProperties(1, Duration.ZERO, Duration.ZERO));
+        User user = fixture.repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+
+        Outcome outcome = contend(fixture.service, user.getId().getValue());
+
+        assertThat(outcome.successes() + outcome.conflicts()).isEqualTo(WRITERS * UPDATES_PER_WRITER);
+        assertThat(fixture.repository.findById(user.getId()).orElseThrow().getVersion())
+            .isEqualTo(1 + outcome.successes());
+    }
+
+    @Test
+    void everyAttemptRunsInItsOwnTransaction() {
+        InMemoryUserRepository memory = new InMemoryUserRepository();
+        User user = memory.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        UserRepository conflicting = new ConflictingRepository(memory, failuresLeft);
+        List<String> transactions = new ArrayList<>();
+        TransactionOperations recording = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.add("attempt " + (transactions.size() + 1));
+                return action.doInTransaction(null);
+            }
+        };
+        UserApplicationService service = new UserApplicationService(conflicting, new UserMapper(),
+            new UserRetryProperties(3, Duration.ZERO, Duration.ZERO), events -> { }, HASHER, recording);
+
+        service.updateUser(user.getId().getValue(), new UpdateUserRequest(null, "Countess", null));
+
+        assertThat(transactions).containsExactly("attempt 1", "attempt 2", "attempt 3");
+        assertThat(memory.findById(user.getId()).orElseThrow().getName()).isEqualTo("Countess");
+
+        failuresLeft.set(3);
+        assertThatThrownBy(() -> service.deactivateUser(user.getId().getValue()))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void aFailedAttemptIsRolledBackBeforeTheNextOneStarts() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE TABLE app_users");
+        JdbcUserRepository store = new JdbcUserRepository(jdbcTemplate);
+        User user = store.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+        AtomicInteger failuresLeft = new AtomicInteger(1);
+        List<Boolean> activeBeforeAttempt = new ArrayList<>();
+        UserRepository conflicting = new ConflictingRepository(store, failuresLeft) {
+            @Override
+            public User save(User toSave) {
+                activeBeforeAttempt.add(TransactionSynchronizationManager.isActualTransactionActive());
+                return super.save(toSave);
+            }
+        };
+        UserApplicationService service = new UserApplicationService(conflicting, new UserMapper(),
+            new UserRetryProperties(2, Duration.ZERO, Duration.ZERO), events -> { }, HASHER,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        service.updateUser(user.getId().getValue(), new UpdateUserRequest(null, "Countess", null));
+
+        assertThat(activeBeforeAttempt).containsExactly(true, true);
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        assertThat(store.findById(user.getId()).orElseThrow().getVersion()).isEqualTo(2);
+    }
+
+    private record Fixture(UserRepository repository, UserApplicationService service) {
+    }
+
+    private record Outcome(int successes, int conflicts) {
+    }
+
+    private static Fixture fixture(String store, UserRetryProperties retry) {
+        UserRepository repository;
+        TransactionOperations transactions;
+        if (store.equals("jdbc")) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("TRUNCATE TABLE app_users");
+            repository = new JdbcUserRepository(jdbcTemplate);
+            transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        } else {
+            repository = new InMemoryUserRepository();
+            transactions = TransactionOperations.withoutTransaction();
+        }
+        return new Fixture(repository, new UserApplicationService(repository, new UserMapper(), retry,
+            events -> { }, HASHER, transactions));
+    }
+
+    private static Outcome contend(UserApplicationService service, String id) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<int[]>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int number = writer;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    int[] outcome = new int[2];
+                    for (int update = 0; update < UPDATES_PER_WRITER; update++) {
+                        try {
+                            service.updateUser(id, new UpdateUserRequest(null, "Writer " + number + "-" + update, null));
+                            outcome[0]++;
+                        } catch (OptimisticLockingFailureException e) {
+                            outcome[1]++;
+                        }
+                    }
+                    return outcome;
+                }));
+            }
+            start.countDown();
+            int successes = 0;
+            int conflicts = 0;
+            for (Future<int[]> writer : writers) {
+                int[] outcome = writer.get();
+                successes += outcome[0];
+                conflicts += outcome[1];
+            }
+            return new Outcome(successes, conflicts);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Fails the next saves with a version conflict, as if another writer got there first
+     */
+    private static class ConflictingRepository implements UserRepository {
+
+        private final UserRepository delegate;
+        private final AtomicInteger failuresLeft;
+
+        ConflictingRepository(UserRepository delegate, AtomicInteger failuresLeft) {
+            this.delegate = delegate;
+            this.failuresLeft = failuresLeft;
+        }
+
+        @Override
+        public User save(User user) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new OptimisticLockingFailureException("Simulated conflict on " + user.getId().getValue());
+            }
+            return delegate.save(user);
+        }
+
+        @Override
+        public List<User> saveAll(Collection<User> users) {
+            return delegate.saveAll(users);
+        }
+
+        @Override
+        public boolean saveIfEmailAvailable(User user) {
+            return delegate.saveIfEmailAvailable(user);
+        }
+
+        @Override
+        public Optional<User> findById(UserId id) {
+            return delegate.findById(id);
+        }
+
+        @Override
+        public List<User> findAllById(Collection<UserId> ids) {
+            return delegate.findAllById(ids);
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) {
+            return delegate.findByEmail(email);
+        }
+
+        @Override
+        public List<User> findAll(int page, int size, String status, String search) {
+            return delegate.findAll(page, size, status, search);
+        }
+
+        @Override
+        public UserPage findPage(int page, int size, String status, String search) {
+            return delegate.findPage(page, size, status, search);
+        }
+
+        @Override
+        public List<User> findAllAfter(UserCursor after, int size, String status, String search) {
+            return delegate.findAllAfter(after, size, status, search);
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            return delegate.existsByEmail(email);
+        }
+
+        @Override
+        public Set<String> findExistingEmails(Collection<String> emails) {
+            return delegate.findExistingEmails(emails);
+        }
+
+        @Override
+        public long count(String status, String search) {
+            return delegate.count(status, search);
+        }
+
+        @Override
+        public void delete(UserId id) {
+            delegate.delete(id);
+        }
+    }
+}
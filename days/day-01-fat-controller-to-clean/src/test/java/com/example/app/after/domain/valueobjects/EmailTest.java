@@ -0,0 +1,104 @@
+package com.example.app.after.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class EmailTest {
+
+    // The pattern Email validated with before the single-pass scanner replaced it
+    private static final Pattern PREVIOUS_PATTERN = Pattern.compile(
+        "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"
+    );
+
+    @ParameterizedTest
+    @CsvSource({
+        // address,                       accepted
+        "user@example.com,                 true",
+        "first.last@example.com,           true",
+        "a@b.co,                           true",
+        "user+tag@mail.example.org,        true",
+        "100%_ok-x@sub-domain.example.io,  true",
+        "UPPER@EXAMPLE.COM,                true",
+        "user@123.example.com,             true",
+        "user,                             false",
+        "@example.com,                     false",
+        "user@,                            false",
+        "user@example,                     false",
+        "user@example.c,                   false",
+        "user@example.c0m,                 false",
+        "user@@example.com,                false",
+        "us@er@example.com,                false",
+        "user name@example.com,            false",
+        "user@exa_mple.com,                false",
+        "user@example.com.,                false",
+        "usér@example.com,                 false",
+    })
+    void agreesWithThePreviousPattern(String address, boolean accepted) {
+        assertThat(PREVIOUS_PATTERN.matcher(address).matches()).isEqualTo(accepted);
+        assertThat(Email.isWellFormed(address)).isEqualTo(accepted);
+    }
+
+    /**
+     * Addresses the previous pattern accepted and the scanner rejects on purpose (RFC 5321 limits,
+     * the same rules Hibernate's @Email applied in front of the pattern)
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "a..b@example.com",
+        ".user@example.com",
+        "user.@example.com",
+        "user@.example.com",
+        "user@-example.com",
+        "user@example-.com",
+        "user@sub..example.com",
+        "user@example..com",
+    })
+    void rejectsWhatThePreviousPatternLetThrough(String address) {
+        assertThat(PREVIOUS_PATTERN.matcher(address).matches()).isTrue();
+        assertThat(Email.isWellFormed(address)).isFalse();
+    }
+
+    @Test
+    void enforcesLocalPartAndLabelLengths() {
+        String domain = "@example.com";
+        assertThat(Email.isWellFormed("a".repeat(64) + domain)).isTrue();
+        assertThat(Email.isWellFormed("a".repeat(65) + domain)).isFalse();
+        assertThat(Email.isWellFormed("user@" + "a".repeat(63) + ".com")).isTrue();
+        assertThat(Email.isWellFormed("user@" + "a".repeat(64) + ".com")).isFalse();
+    }
+
+    @Test
+    void neverAcceptsWhatThePreviousPatternRejected() {
+        char[] alphabet = "ab1.-_%+@ ".toCharArray();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            char[] chars = new char[1 + random.nextInt(12)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String candidate = new String(chars);
+            if (Email.isWellFormed(candidate)) {
+                assertThat(PREVIOUS_PATTERN.matcher(candidate).matches()).as(candidate).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void constructorReportsTheFirstBrokenRule() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new Email(null)).withMessage("Email is required");
+        assertThatIllegalArgumentException().isThrownBy(() -> new Email("  ")).withMessage("Email is required");
+        assertThatIllegalArgumentException().isThrownBy(() -> new Email("a".repeat(250) + "@example.com"))
+            .withMessage("Email cannot exceed 255 characters");
+        assertThatIllegalArgumentException().isThrownBy(() -> new Email("a..b@example.com"))
+            .withMessage("Email must be valid");
+        assertThat(new Email("user@example.com").getDomain()).isEqualTo("example.com");
+    }
+}
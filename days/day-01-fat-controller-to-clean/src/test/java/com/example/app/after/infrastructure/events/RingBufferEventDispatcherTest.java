@@ -0,0 +1,229 @@
+package com.example.app.after.infrastructure.events;
+
+import com.example.app.shared.domain.DomainEvent;
+import com.example.app.shared.domain.DomainEventHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * RingBufferEventDispatcher with real handler threads: ordering across many laps of a small
+ * ring, every wait strategy, a stalled handler holding back publishers, and slot clearing.
+ */
+class RingBufferEventDispatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.Kind.class)
+    void everyHandlerSeesEveryEventInOrderAcrossManyLaps(WaitStrategy.Kind waitStrategy) throws Exception {
+        RecordingHandler first = new RecordingHandler("first");
+        RecordingHandler second = new RecordingHandler("second");
+        RingBufferEventDispatcher dispatcher = dispatcher(List.of(first, second), 8, 3, waitStrategy);
+        int publishers = 4;
+        int eventsPerPublisher = 500;
+
+        ExecutorService executor = Executors.newFixedThreadPool(publishers);
+        try {
+            List<Future<List<TestEvent>>> published = new ArrayList<>();
+            for (int publisher = 0; publisher < publishers; publisher++) {
+                int number = publisher;
+                published.add(executor.submit(() -> {
+                    List<TestEvent> events = new ArrayList<>();
+                    for (int i = 0; i < eventsPerPublisher; i++) {
+                        TestEvent event = new TestEvent(number, i);
+                        // The ring holds 8; wait for the handlers instead of dropping
+                        while (!dispatcher.tryPublish(List.of(event))) {
+                            Thread.yield();
+                        }
+                        events.add(event);
+                    }
+                    return events;
+                }));
+            }
+            for (Future<List<TestEvent>> events : published) {
+                events.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        await(() -> dispatcher.backlog() == 0);
+
+        for (RecordingHandler handler : List.of(first, second)) {
+            List<TestEvent> seen = handler.events();
+            assertThat(seen).hasSize(publishers * eventsPerPublisher);
+            for (int publisher = 0; publisher < publishers; publisher++) {
+                int number = publisher;
+                assertThat(seen.stream().filter(event -> event.publisher == number).map(event -> event.index).toList())
+                    .isSortedAccordingTo(Integer::compare)
+                    .hasSize(eventsPerPublisher);
+            }
+            assertThat(handler.largestBatch()).isBetween(1, 3);
+        }
+        assertThat(first.events()).isEqualTo(second.events());
+        dispatcher.destroy();
+    }
+
+    @Test
+    void aStalledHandlerHoldsBackPublishersOnceTheRingIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler stalled = new RecordingHandler("stalled") {
+            @Override
+            public void handle(List<DomainEvent> events) {
+                awaitQuietly(release);
+                super.handle(events);
+            }
+        };
+        RecordingHandler fast = new RecordingHandler("fast");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(List.of(stalled, fast),
+            new DomainEventProperties(4, 1, WaitStrategy.Kind.BLOCKING, TIMEOUT), meterRegistry);
+
+        // One event in the stalled handler's hands, four more fill the ring behind it
+        assertThat(dispatcher.tryPublish(List.of(new TestEvent(0, 0)))).isTrue();
+        await(() -> fast.events().size() == 1);
+        for (int i = 1; i <= 3; i++) {
+            assertThat(dispatcher.tryPublish(List.of(new TestEvent(0, i)))).isTrue();
+        }
+        assertThat(dispatcher.tryPublish(List.of(new TestEvent(0, 4)))).isFalse();
+        dispatcher.publish(List.of(new TestEvent(0, 5), new TestEvent(0, 6)));
+        assertThat(meterRegistry.counter("users.events.dropped").count()).isEqualTo(2);
+        await(() -> fast.events().size() == 4);
+        assertThat(dispatcher.backlog()).isEqualTo(4);
+
+        release.countDown();
+        await(() -> dispatcher.backlog() == 0);
+        assertThat(dispatcher.tryPublish(List.of(new TestEvent(0, 7)))).isTrue();
+        await(() -> stalled.events().size() == 5);
+
+        assertThat(stalled.events()).extracting(event -> event.index).containsExactly(0, 1, 2, 3, 7);
+        assertThat(fast.events()).isEqualTo(stalled.events());
+        dispatcher.destroy();
+    }
+
+    @Test
+    void handledEventsAreNotKeptAliveByTheRing() throws Exception {
+        RecordingHandler first = new RecordingHandler("first") {
+            @Override
+            public void handle(List<DomainEvent> events) {
+                // Only counts, so nothing but the ring can still reference the event
+                count(events.size());
+            }
+        };
+        RecordingHandler second = new RecordingHandler("second") {
+            @Override
+            public void handle(List<DomainEvent> events) {
+                count(events.size());
+            }
+        };
+        RingBufferEventDispatcher dispatcher = dispatcher(List.of(first, second), 1024, 16, WaitStrategy.Kind.BLOCKING);
+
+        TestEvent event = new TestEvent(0, 0);
+        WeakReference<TestEvent> handled = new WeakReference<>(event);
+        assertThat(dispatcher.tryPublish(List.of(event))).isTrue();
+        event = null;
+        await(() -> dispatcher.backlog() == 0);
+
+        await(() -> {
+            System.gc();
+            return handled.get() == null;
+        });
+        assertThat(first.count() + second.count()).isEqualTo(2);
+        dispatcher.destroy();
+    }
+
+    private static RingBufferEventDispatcher dispatcher(List<DomainEventHandler> handlers, int bufferSize,
+                                                        int maxBatchSize, WaitStrategy.Kind waitStrategy) {
+        return new RingBufferEventDispatcher(handlers,
+            new DomainEventProperties(bufferSize, maxBatchSize, waitStrategy, TIMEOUT), new SimpleMeterRegistry());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + TIMEOUT);
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TestEvent extends DomainEvent {
+
+        final int publisher;
+        final int index;
+
+        TestEvent(int publisher, int index) {
+            this.publisher = publisher;
+            this.index = index;
+        }
+    }
+
+    private static class RecordingHandler implements DomainEventHandler {
+
+        private final String name;
+        private final List<TestEvent> events = Collections.synchronizedList(new ArrayList<>());
+        private volatile int largestBatch;
+        private volatile int count;
+
+        RecordingHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void handle(List<DomainEvent> batch) {
+            largestBatch = Math.max(largestBatch, batch.size());
+            for (DomainEvent event : batch) {
+                events.add((TestEvent) event);
+            }
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        // Only called from this handler's own thread
+        void count(int handled) {
+            count += handled;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int largestBatch() {
+            return largestBatch;
+        }
+
+        List<TestEvent> events() {
+            synchronized (events) {
+                return List.copyOf(events);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.domain.valueobjects.UserId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JdbcUserRepository against embedded H2 in PostgreSQL mode, with the production schema.
+ */
+class JdbcUserRepositoryTest {
+
+    static final String H2_POSTGRES_URL =
+        "jdbc:h2:mem:%s;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final PasswordHasher HASHER = password -> "hash:" + password;
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private JdbcUserRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new SingleConnectionDataSource(H2_POSTGRES_URL.formatted("jdbc_user_repository"), true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/users-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        dataSource.destroy();
+    }
+
+    @BeforeEach
+    void emptyTable() {
+        jdbcTemplate.execute("TRUNCATE TABLE app_users");
+        repository = new JdbcUserRepository(jdbcTemplate);
+    }
+
+    @Test
+    void savesFindsUpdatesAndDeletes() {
+        User user = repository.save(User.create("Ada@Example.com", "Ada Lovelace", "secret12", HASHER));
+        assertThat(user.getVersion()).isEqualTo(1);
+
+        User loaded = repository.findById(user.getId()).orElseThrow();
+        assertThat(loaded.getEmail().getValue()).isEqualTo("Ada@Example.com");
+        assertThat(loaded.getName()).isEqualTo("Ada Lovelace");
+        assertThat(loaded.getPasswordHash()).isEqualTo("hash:secret12");
+        assertThat(loaded.getCreatedAt()).isEqualTo(user.getCreatedAt());
+        assertThat(loaded.getUpdatedAt()).isEqualTo(user.getUpdatedAt());
+        assertThat(repository.findByEmail("ada@EXAMPLE.com")).map(User::getId).contains(user.getId());
+        assertThat(repository.existsByEmail("ADA@example.com")).isTrue();
+
+        loaded.updateName("Countess Lovelace");
+        repository.save(loaded);
+        assertThat(loaded.getVersion()).isEqualTo(2);
+        assertThat(repository.findById(user.getId()).orElseThrow().getName()).isEqualTo("Countess Lovelace");
+
+        repository.delete(user.getId());
+        assertThat(repository.findById(user.getId())).isEmpty();
+        assertThat(repository.existsByEmail("ada@example.com")).isFalse();
+    }
+
+    @Test
+    void rejectsAStaleUpdate() {
+        User user = repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+        User first = repository.findById(user.getId()).orElseThrow();
+        User second = repository.findById(user.getId()).orElseThrow();
+
+        first.updateName("First Writer");
+        repository.save(first);
+        second.updateName("Second Writer");
+
+        assertThatThrownBy(() -> repository.save(second)).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository.findById(user.getId()).orElseThrow().getName()).isEqualTo("First Writer");
+    }
+
+    @Test
+    void saveAllInsertsAndUpdatesInBatches() {
+        List<User> created = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            created.add(User.create("user" + i + "@example.com", "User " + i, "secret12", HASHER));
+        }
+        repository.saveAll(created);
+        assertThat(created).allSatisfy(user -> assertThat(user.getVersion()).isEqualTo(1));
+        assertThat(repository.count(null, null)).isEqualTo(300);
+
+        List<User> mixed = new ArrayList<>();
+        User renamed = created.get(0);
+        renamed.updateName("Renamed");
+        mixed.add(renamed);
+        mixed.add(User.create("new@example.com", "Newcomer", "secret12", HASHER));
+        repository.saveAll(mixed);
+
+        assertThat(repository.count(null, null)).isEqualTo(301);
+        assertThat(repository.findById(renamed.getId()).orElseThrow().getVersion()).isEqualTo(2);
+        assertThat(repository.findAllById(created.stream().map(User::getId).toList())).hasSize(300);
+        assertThat(repository.findExistingEmails(List.of("USER7@example.com", "nobody@example.com")))
+            .containsExactly("user7@example.com");
+    }
+
+    @Test
+    void findPageReturnsTheTotalWithEveryPage() {
+        for (int i = 0; i < 7; i++) {
+            User user = user(i, T0.plusMinutes(i));
+            if (i % 3 == 0) {
+                user.deactivate();
+            }
+            repository.save(user);
+        }
+
+        UserPage first = repository.findPage(0, 3, null, null);
+        assertThat(first.users()).extracting(User::getName).containsExactly("User 0", "User 1", "User 2");
+        assertThat(first.total()).isEqualTo(7);
+
+        UserPage last = repository.findPage(2, 3, null, null);
+        assertThat(last.users()).extracting(User::getName).containsExactly("User 6");
+        assertThat(last.total()).isEqualTo(7);
+
+        UserPage pastTheEnd = repository.findPage(5, 3, null, null);
+        assertThat(pastTheEnd.users()).isEmpty();
+        assertThat(pastTheEnd.total()).isEqualTo(7);
+
+        UserPage inactive = repository.findPage(0, 2, "INACTIVE", null);
+        assertThat(inactive.users()).extracting(User::getName).containsExactly("User 0", "User 3");
+        assertThat(inactive.total()).isEqualTo(3);
+
+        assertThat(repository.findPage(0, 10, null, "user 5").total()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllAfterWalksTheKeysetIncludingTiedTimestamps() {
+        // Pairs share a created_at, so the id breaks the tie
+        List<User> expected = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            expected.add(user(i, T0.plusSeconds(i / 2)));
+        }
+        repository.saveAll(expected);
+
+        List<String> walked = new ArrayList<>();
+        UserCursor cursor = null;
+        List<User> page;
+        do {
+            page = repository.findAllAfter(cursor, 2, null, null);
+            for (User user : page) {
+                walked.add(user.getId().getValue());
+                cursor = UserCursor.of(user);
+            }
+        } while (page.size() == 2);
+
+        assertThat(walked).containsExactlyElementsOf(expected.stream().map(user -> user.getId().getValue()).toList());
+        assertThat(repository.findAllAfter(UserCursor.of(expected.get(8)), 2, null, null)).isEmpty();
+        assertThat(repository.findAllAfter(UserCursor.of(expected.get(3)), 10, "ACTIVE", null))
+            .extracting(User::getName).containsExactly("User 4", "User 5", "User 6", "User 7", "User 8");
+    }
+
+    @Test
+    void listingsLeaveThePasswordHashInTheStore() {
+        User user = repository.save(user(0, T0));
+
+        assertThat(repository.findAll(0, 10, null, null)).extracting(User::getPasswordHash).containsOnlyNulls();
+        assertThat(repository.findPage(0, 10, null, null).users()).extracting(User::getPasswordHash).containsOnlyNulls();
+        assertThat(repository.findAllAfter(null, 10, null, null)).extracting(User::getPasswordHash).containsOnlyNulls();
+
+        assertThat(repository.findById(user.getId()).orElseThrow().getPasswordHash()).isEqualTo(user.getPasswordHash());
+        assertThat(repository.loadAfter(null, 10)).extracting(User::getPasswordHash)
+            .containsExactly(user.getPasswordHash());
+    }
+
+    @Test
+    void saveIfEmailAvailableRefusesOnlyATakenEmail() {
+        assertThat(repository.saveIfEmailAvailable(User.create("ada@example.com", "Ada", "secret12", HASHER))).isTrue();
+        assertThat(repository.saveIfEmailAvailable(User.create("ADA@example.com", "Other Ada", "secret12", HASHER)))
+            .isFalse();
+        assertThat(repository.count(null, null)).isEqualTo(1);
+
+        User existing = repository.findByEmail("ada@example.com").orElseThrow();
+        User sameId = User.reconstitute(existing.getId(), "someone@example.com", "Someone", "hash",
+            UserStatus.ACTIVE, T0, T0, 0);
+        assertThatThrownBy(() -> repository.saveIfEmailAvailable(sameId)).isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> repository.saveAll(List.of(sameId))).isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> repository.saveAll(List.of(
+            User.create("Ada@Example.com", "Third Ada", "secret12", HASHER))))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static User user(int index, LocalDateTime createdAt) {
+        return User.reconstitute(UserId.of(String.format("user-%03d", index)), "user" + index + "@example.com",
+            "User " + index, "hash", UserStatus.ACTIVE, createdAt, createdAt, 0);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The version check under real contention: writers that all read the same version race
+ * their saves, and exactly one of them may win, in memory and on a pooled H2 database.
+ */
+class UserRepositoryCompareAndSetTest {
+
+    private static final PasswordHasher HASHER = password -> "hash:" + password;
+    private static final int WRITERS = 16;
+    private static final int ROUNDS = 25;
+
+    private static HikariDataSource dataSource;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(JdbcUserRepositoryTest.H2_POSTGRES_URL.formatted("user_repository_cas"));
+        dataSource.setMaximumPoolSize(WRITERS);
+        new ResourceDatabasePopulator(new ClassPathResource("db/users-schema.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        dataSource.close();
+    }
+
+    static Stream<Arguments> repositories() {
+        return Stream.of(
+            Arguments.of("in-memory", (Supplier<UserRepository>) InMemoryUserRepository::new),
+            Arguments.of("jdbc", (Supplier<UserRepository>) () -> {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                jdbcTemplate.execute("TRUNCATE TABLE app_users");
+                return new JdbcUserRepository(jdbcTemplate);
+            }));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    void exactlyOneOfTheWritersReadingTheSameVersionWins(String store, Supplier<UserRepository> factory) throws Exception {
+        UserRepository repository = factory.get();
+        User user = repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+        CyclicBarrier start = new CyclicBarrier(WRITERS);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                long readVersion = repository.findById(user.getId()).orElseThrow().getVersion();
+                List<Future<Boolean>> writers = new ArrayList<>();
+                for (int writer = 0; writer < WRITERS; writer++) {
+                    String name = "Writer " + round + "-" + writer;
+                    writers.add(executor.submit(() -> {
+                        User copy = repository.findById(user.getId()).orElseThrow();
+                        copy.setVersion(readVersion);
+                        copy.updateName(name);
+                        start.await();
+                        try {
+                            repository.save(copy);
+                            return true;
+                        } catch (OptimisticLockingFailureException e) {
+                            return false;
+                        }
+                    }));
+                }
+
+                List<Integer> winners = new ArrayList<>();
+                for (int writer = 0; writer < WRITERS; writer++) {
+                    if (writers.get(writer).get()) {
+                        winners.add(writer);
+                    }
+                }
+                assertThat(winners).hasSize(1);
+                User stored = repository.findById(user.getId()).orElseThrow();
+                assertThat(stored.getVersion()).isEqualTo(readVersion + 1);
+                assertThat(stored.getName()).isEqualTo("Writer " + round + "-" + winners.get(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
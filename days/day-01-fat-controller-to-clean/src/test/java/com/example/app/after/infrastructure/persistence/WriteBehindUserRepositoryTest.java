@@ -0,0 +1,222 @@
+package com.example.app.after.infrastructure.persistence;
+
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.valueobjects.UserId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WriteBehindUserRepository over JdbcUserRepository on embedded H2: whatever order concurrent
+ * writers enqueue in, the store ends up holding exactly what memory holds.
+ */
+class WriteBehindUserRepositoryTest {
+
+    private static final PasswordHasher HASHER = password -> "hash:" + password;
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private JdbcUserRepository store;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new SingleConnectionDataSource(
+            JdbcUserRepositoryTest.H2_POSTGRES_URL.formatted("write_behind_user_repository"), true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/users-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        dataSource.destroy();
+    }
+
+    @BeforeEach
+    void emptyTable() {
+        jdbcTemplate.execute("TRUNCATE TABLE app_users");
+        store = new JdbcUserRepository(jdbcTemplate);
+    }
+
+    @Test
+    void deleteAfterSavesIsPersistedAsADelete() throws Exception {
+        WriteBehindUserRepository repository = repository(Duration.ofHours(1));
+        User user = repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+        user.updateName("Ada Lovelace");
+        repository.save(user);
+        repository.delete(user.getId());
+        repository.save(User.create("grace@example.com", "Grace", "secret12", HASHER));
+        repository.destroy();
+
+        assertThat(store.findById(user.getId())).isEmpty();
+        assertThat(store.count(null, null)).isEqualTo(1);
+    }
+
+    @Test
+    void deletesOfUsersLoadedFromTheStoreArePersisted() throws Exception {
+        WriteBehindUserRepository repository = repository(Duration.ofHours(1));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            users.add(User.create("user" + i + "@example.com", "User " + i, "secret12", HASHER));
+        }
+        store.saveAll(users);
+        repository.destroy();
+
+        repository = repository(Duration.ofHours(1));
+        for (User user : users.subList(0, 40)) {
+            repository.delete(user.getId());
+        }
+        repository.destroy();
+
+        assertThat(store.count(null, null)).isEqualTo(10);
+    }
+
+    @Test
+    void usersSwappingEmailsArePersistedTogether() throws Exception {
+        WriteBehindUserRepository repository = repository(Duration.ofHours(1));
+        User ada = repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+        User grace = repository.save(User.create("grace@example.com", "Grace", "secret12", HASHER));
+        repository.destroy();
+
+        repository = repository(Duration.ofHours(1));
+        ada.updateEmail("swap@example.com");
+        repository.save(ada);
+        grace.updateEmail("ada@example.com");
+        repository.save(grace);
+        ada.updateEmail("grace@example.com");
+        repository.save(ada);
+        repository.destroy();
+
+        assertThat(store.findById(ada.getId())).get()
+            .extracting(user -> user.getEmail().getValue()).isEqualTo("grace@example.com");
+        assertThat(store.findById(grace.getId())).get()
+            .extracting(user -> user.getEmail().getValue()).isEqualTo("ada@example.com");
+        assertThat(repository.deadLetterCount()).isZero();
+    }
+
+    @Test
+    void mutationThatKeepsFailingIsDeadLetteredInsteadOfRetriedForever() throws Exception {
+        WriteBehindUserRepository repository = repository(Duration.ofMillis(1), 3);
+        // Taken in the store behind the repository's back, so the flush can never succeed
+        store.save(User.create("taken@example.com", "Other", "secret12", HASHER));
+        User user = repository.save(User.create("taken@example.com", "Ada", "secret12", HASHER));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (repository.deadLetterCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(repository.deadLetterCount()).isEqualTo(1);
+        assertThat(repository.pendingCount()).isZero();
+
+        // The user's next mutation supersedes the dead letter
+        repository.delete(user.getId());
+        repository.destroy();
+        assertThat(repository.deadLetterCount()).isZero();
+        assertThat(store.count(null, null)).isEqualTo(1);
+    }
+
+    @Test
+    void writerThatFindsTheQueueFullIsRejectedAsOverload() throws Exception {
+        WriteBehindUserRepository repository = new WriteBehindUserRepository(new InMemoryUserRepository(), store,
+            new WriteBehindProperties(Duration.ofHours(1), 16, 1, Duration.ofMillis(10), Duration.ofSeconds(10), 10),
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+
+        assertThatThrownBy(() -> repository.save(User.create("grace@example.com", "Grace", "secret12", HASHER)))
+            .isInstanceOf(TaskRejectedException.class)
+            .hasMessageContaining("queue is full");
+        repository.destroy();
+    }
+
+    @Test
+    void concurrentSavesAndDeletesLeaveTheStoreEqualToMemory() throws Exception {
+        for (int round = 0; round < 5; round++) {
+            jdbcTemplate.execute("TRUNCATE TABLE app_users");
+            WriteBehindUserRepository repository = repository(Duration.ofMillis(1));
+            List<UserId> ids = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                ids.add(repository.save(User.create("user" + i + "@example.com", "User " + i, "secret12", HASHER))
+                    .getId());
+            }
+
+            int threads = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2_000; i++) {
+                        UserId id = ids.get(random.nextInt(ids.size()));
+                        Optional<User> user = repository.findById(id);
+                        if (user.isEmpty()) {
+                            continue;
+                        }
+                        if (random.nextInt(32) == 0) {
+                            repository.delete(id);
+                            continue;
+                        }
+                        try {
+                            user.get().updateName("Name " + i);
+                            repository.save(user.get());
+                        } catch (OptimisticLockingFailureException | IllegalStateException e) {
+                            // lost the race to another writer or to a delete
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            executor.shutdown();
+            repository.destroy();
+
+            Map<String, Long> inMemory = versions(repository.findAll(0, 1_000, null, null));
+            Map<String, Long> stored = versions(store.findAll(0, 1_000, null, null));
+            assertThat(stored).as("round %d", round).isEqualTo(inMemory);
+        }
+    }
+
+    private WriteBehindUserRepository repository(Duration flushInterval) {
+        return repository(flushInterval, 10);
+    }
+
+    private WriteBehindUserRepository repository(Duration flushInterval, int maxAttempts) {
+        return new WriteBehindUserRepository(new InMemoryUserRepository(), store,
+            new WriteBehindProperties(flushInterval, 16, 100_000, Duration.ofSeconds(1), Duration.ofSeconds(10),
+                maxAttempts),
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    private static Map<String, Long> versions(List<User> users) {
+        return users.stream().collect(Collectors.toMap(user -> user.getId().getValue(), User::getVersion));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.app.after.infrastructure.persistence.compact;
+
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.domain.valueobjects.UserId;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import com.example.app.after.infrastructure.persistence.UserCursor;
+import com.example.app.after.infrastructure.persistence.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompactUserRepository against InMemoryUserRepository as the reference: keyset pages,
+ * email lookups and deletes must agree while the compact store reuses slots and arena space.
+ */
+class CompactUserRepositoryTest {
+
+    private static final PasswordHasher HASHER = password -> "hash:" + password;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void keysetPagesFollowCreationOrderThroughDeletesAndSlotReuse() {
+        CompactUserRepository compact = new CompactUserRepository();
+        InMemoryUserRepository reference = new InMemoryUserRepository();
+        Random random = new Random(42);
+        List<UserId> live = new ArrayList<>();
+
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 1500; i++) {
+                // Few distinct timestamps, so ties are broken by id; some ids are not UUIDs
+                String id = random.nextInt(10) == 0 ? "legacy-" + random.nextInt(1_000_000) : UUID.randomUUID().toString();
+                LocalDateTime createdAt = EPOCH.plusSeconds(random.nextInt(200));
+                User user = user(id, "user" + round + "-" + i + "@Example.com", createdAt);
+                if (reference.findById(user.getId()).isPresent()) {
+                    continue;
+                }
+                reference.save(user(id, user.getEmail().getValue(), createdAt));
+                compact.save(user);
+                live.add(user.getId());
+            }
+            // Enough deletes to purge the creation order and hand slots out again
+            for (int i = 0; i < 1200; i++) {
+                UserId id = live.remove(random.nextInt(live.size()));
+                reference.delete(id);
+                compact.delete(id);
+            }
+            assertThat(walk(compact, 97, null)).isEqualTo(walk(reference, 97, null));
+            assertThat(walk(compact, 50, "ACTIVE")).isEqualTo(walk(reference, 50, "ACTIVE"));
+        }
+        assertThat(walk(compact, 1000, null)).hasSize(live.size());
+    }
+
+    @Test
+    void seeksFromACursorOfADeletedUser() {
+        CompactUserRepository repository = new CompactUserRepository();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(repository.save(user(UUID.randomUUID().toString(), "user" + i + "@example.com", EPOCH.plusSeconds(i))));
+        }
+        UserCursor cursor = UserCursor.of(users.get(4));
+        repository.delete(users.get(4).getId());
+
+        List<User> page = repository.findAllAfter(cursor, 3, null, null);
+
+        assertThat(page).extracting(User::getId).containsExactly(users.get(5).getId(), users.get(6).getId(), users.get(7).getId());
+    }
+
+    @Test
+    void emailLookupsIgnoreCaseAndFollowEmailChanges() {
+        CompactUserRepository repository = new CompactUserRepository();
+        User user = repository.save(User.create("Ada@Example.com", "Ada", "secret12", HASHER));
+
+        assertThat(repository.findByEmail("ada@example.COM")).map(User::getId).contains(user.getId());
+        assertThat(repository.findByEmail("ada@example.org")).isEmpty();
+
+        User changed = repository.findById(user.getId()).orElseThrow();
+        changed.updateEmail("lovelace@example.com");
+        repository.save(changed);
+
+        assertThat(repository.existsByEmail("ada@example.com")).isFalse();
+        assertThat(repository.findByEmail("LOVELACE@example.com")).map(User::getId).contains(user.getId());
+        assertThat(repository.saveIfEmailAvailable(User.create("ada@example.com", "Other", "secret12", HASHER))).isTrue();
+        assertThat(repository.saveIfEmailAvailable(User.create("Lovelace@Example.com", "Other", "secret12", HASHER))).isFalse();
+    }
+
+    @Test
+    void deletesReclaimArenaSpace() {
+        CompactUserRepository repository = new CompactUserRepository();
+        // About 50 MB of strings, well past the arena's 16 MB compaction floor
+        String bulkyHash = "h".repeat(400);
+        List<UserId> ids = new ArrayList<>();
+        for (int i = 0; i < 120_000; i++) {
+            ids.add(repository.save(User.create("user" + i + "@example.com", "User " + i, "secret12", password -> bulkyHash)).getId());
+        }
+        long filled = repository.footprintBytes();
+
+        for (UserId id : ids.subList(100, ids.size())) {
+            repository.delete(id);
+        }
+
+        assertThat(repository.footprintBytes()).isLessThan(filled / 2);
+        assertThat(repository.count(null, null)).isEqualTo(100);
+        assertThat(repository.findByEmail("user99@example.com")).map(User::getPasswordHash).contains(bulkyHash);
+    }
+
+    private static User user(String id, String email, LocalDateTime createdAt) {
+        return User.reconstitute(UserId.of(id), email, "Name " + email, "hash", UserStatus.ACTIVE, createdAt, createdAt, 0);
+    }
+
+    private static List<String> walk(UserRepository repository, int pageSize, String status) {
+        List<String> ids = new ArrayList<>();
+        UserCursor cursor = null;
+        while (true) {
+            List<User> page = repository.findAllAfter(cursor, pageSize, status, null);
+            page.forEach(user -> ids.add(user.getId().getValue()));
+            if (page.size() < pageSize) {
+                return ids;
+            }
+            cursor = UserCursor.of(page.get(page.size() - 1));
+        }
+    }
+}
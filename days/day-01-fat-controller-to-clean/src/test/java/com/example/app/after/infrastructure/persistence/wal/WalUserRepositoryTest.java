@@ -0,0 +1,177 @@
+package com.example.app.after.infrastructure.persistence.wal;
+
+import com.example.app.after.domain.PasswordHasher;
+import com.example.app.after.domain.User;
+import com.example.app.after.domain.UserStatus;
+import com.example.app.after.infrastructure.persistence.InMemoryUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * WalUserRepository restarted over the same directory: snapshots plus log replay must
+ * reproduce exactly the state that was acknowledged before the restart.
+ */
+class WalUserRepositoryTest {
+
+    private static final PasswordHasher HASHER = password -> "hash:" + password;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversFromSnapshotPlusLogTail() throws Exception {
+        WalUserRepository repository = open();
+        List<User> users = createUsers(repository, 0, 30);
+        repository.snapshot();
+
+        User renamed = repository.findById(users.get(3).getId()).orElseThrow();
+        renamed.updateName("Renamed User");
+        repository.save(renamed);
+        repository.delete(users.get(4).getId());
+        createUsers(repository, 30, 35);
+        Map<String, String> acknowledged = state(repository);
+        repository.destroy();
+
+        WalUserRepository recovered = open();
+        assertThat(state(recovered)).isEqualTo(acknowledged).hasSize(34);
+        assertThat(recovered.findByEmail("user3@example.com").orElseThrow().getName()).isEqualTo("Renamed User");
+        recovered.destroy();
+    }
+
+    @Test
+    void fallsBackToTheOlderSnapshotWithoutLosingWrites() throws Exception {
+        WalUserRepository repository = open();
+        createUsers(repository, 0, 40);
+        repository.snapshot();
+        createUsers(repository, 40, 80);
+        repository.snapshot();
+        createUsers(repository, 80, 90);
+        Map<String, String> acknowledged = state(repository);
+        repository.destroy();
+
+        corrupt(snapshots().get(0));
+
+        WalUserRepository recovered = open();
+        assertThat(state(recovered)).isEqualTo(acknowledged).hasSize(90);
+        recovered.destroy();
+    }
+
+    @Test
+    void refusesToStartWhenNoRetainedStateConnectsToTheLog() throws Exception {
+        WalUserRepository repository = open();
+        createUsers(repository, 0, 40);
+        repository.snapshot();
+        createUsers(repository, 40, 80);
+        repository.snapshot();
+        createUsers(repository, 80, 120);
+        repository.snapshot();
+        repository.destroy();
+
+        for (Path snapshot : snapshots()) {
+            corrupt(snapshot);
+        }
+
+        assertThatIllegalStateException().isThrownBy(this::open).withMessageContaining("are missing");
+    }
+
+    @Test
+    void saveTheLogRefusesIsRolledBackInMemory() throws Exception {
+        WalUserRepository repository = open();
+        User user = repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+
+        // Larger than a whole segment, so the log cannot take it
+        String oversized = "x".repeat(2048);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> repository.save(User.create("big@example.com", "Big", "secret12", p -> oversized)));
+        assertThat(repository.findByEmail("big@example.com")).isEmpty();
+
+        User changed = User.reconstitute(user.getId(), "changed@example.com", "Changed", oversized,
+            UserStatus.ACTIVE, user.getCreatedAt(), user.getUpdatedAt(), user.getVersion());
+        assertThatIllegalArgumentException().isThrownBy(() -> repository.save(changed));
+        assertThat(changed.getVersion()).isEqualTo(user.getVersion());
+        User current = repository.findById(user.getId()).orElseThrow();
+        assertThat(current.getEmail().getValue()).isEqualTo("ada@example.com");
+        assertThat(current.getVersion()).isEqualTo(user.getVersion());
+        assertThat(repository.existsByEmail("changed@example.com")).isFalse();
+        Map<String, String> acknowledged = state(repository);
+        repository.destroy();
+
+        WalUserRepository recovered = open();
+        assertThat(state(recovered)).isEqualTo(acknowledged);
+        recovered.destroy();
+    }
+
+    @Test
+    void batchTheLogRefusesPartwayIsRevertedInMemoryAndInTheLog() throws Exception {
+        WalUserRepository repository = open();
+        User existing = repository.save(User.create("ada@example.com", "Ada", "secret12", HASHER));
+        Map<String, String> before = state(repository);
+
+        User renamed = repository.findById(existing.getId()).orElseThrow();
+        renamed.updateName("Countess");
+        User added = User.create("grace@example.com", "Grace", "secret12", HASHER);
+        User oversized = User.create("big@example.com", "Big", "secret12", p -> "x".repeat(2048));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> repository.saveAll(List.of(added, renamed, oversized)));
+
+        assertThat(state(repository)).isEqualTo(before);
+        assertThat(added.getVersion()).isZero();
+        assertThat(renamed.getVersion()).isEqualTo(existing.getVersion());
+        repository.destroy();
+
+        WalUserRepository recovered = open();
+        assertThat(state(recovered)).isEqualTo(before);
+        recovered.destroy();
+    }
+
+    private WalUserRepository open() {
+        return new WalUserRepository(new InMemoryUserRepository(),
+            new WalProperties(directory, DataSize.ofKilobytes(1), true, Long.MAX_VALUE, 2));
+    }
+
+    private static List<User> createUsers(WalUserRepository repository, int from, int to) {
+        List<User> users = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            users.add(repository.save(User.create("user" + i + "@example.com", "User " + i, "secret12", HASHER)));
+        }
+        return users;
+    }
+
+    private static Map<String, String> state(WalUserRepository repository) {
+        return repository.findAll(0, 10_000, null, null).stream().collect(Collectors.toMap(
+            user -> user.getId().getValue(),
+            user -> user.getEmail().getValue() + "|" + user.getName() + "|" + user.getStatus() + "|" + user.getVersion()));
+    }
+
+    // Newest first
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("snapshot-"))
+                .sorted((a, b) -> b.getFileName().toString().compareTo(a.getFileName().toString()))
+                .toList();
+        }
+    }
+
+    private static void corrupt(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES), channel.size() - Integer.BYTES);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.app.after.infrastructure.persistence.wal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    // [length][crc32] frame header, then [lsn][type] in the body
+    private static final int RECORD_OVERHEAD = 2 * Integer.BYTES + Long.BYTES + 1;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryRecordAfterReopening() {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 10; i++) {
+                wal.awaitDurable(wal.append(WriteAheadLog.PUT, payload(i)));
+            }
+        }
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open(0, replayed)) {
+            assertThat(wal.lastLsn()).isEqualTo(10);
+        }
+        assertThat(replayed).containsExactlyElementsOf(expected(1, 10));
+
+        List<String> tail = new ArrayList<>();
+        open(7, tail).close();
+        assertThat(tail).containsExactly("1:8:record-8", "1:9:record-9", "1:10:record-10");
+    }
+
+    @Test
+    void rollsOverToNewSegmentsAndReplaysAcrossThem() throws IOException {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 500; i++) {
+                wal.append(i % 7 == 0 ? WriteAheadLog.DELETE : WriteAheadLog.PUT, payload(i));
+            }
+        }
+        assertThat(segments()).hasSizeGreaterThan(3);
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open(0, replayed)) {
+            assertThat(wal.lastLsn()).isEqualTo(500);
+            wal.append(WriteAheadLog.PUT, payload(501));
+        }
+        assertThat(replayed).hasSize(500);
+        assertThat(replayed.get(6)).isEqualTo("2:7:record-7");
+        assertThat(replayed.get(499)).isEqualTo("1:500:record-500");
+
+        List<String> again = new ArrayList<>();
+        open(0, again).close();
+        assertThat(again).hasSize(501).last().isEqualTo("1:501:record-501");
+    }
+
+    @Test
+    void discardsATornTailAndResumesAppendingAfterIt() throws IOException {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 5; i++) {
+                wal.append(WriteAheadLog.PUT, payload(i));
+            }
+        }
+
+        // Crash in the middle of record 6: its frame header is written, its body only in part
+        Path segment = segments().get(segments().size() - 1);
+        int end = 0;
+        for (int i = 1; i <= 5; i++) {
+            end += RECORD_OVERHEAD + payload(i).length;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(16)
+                .putInt(Long.BYTES + 1 + 40).putInt(0x12345678).putLong(6);
+            channel.write(torn.flip(), end);
+        }
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open(0, replayed)) {
+            assertThat(wal.lastLsn()).isEqualTo(5);
+            assertThat(wal.append(WriteAheadLog.PUT, payload(6))).isEqualTo(6);
+        }
+        assertThat(replayed).containsExactlyElementsOf(expected(1, 5));
+
+        List<String> again = new ArrayList<>();
+        open(0, again).close();
+        assertThat(again).containsExactlyElementsOf(expected(1, 6));
+    }
+
+    @Test
+    void discardsARecordWhoseChecksumDoesNotMatch() throws IOException {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 3; i++) {
+                wal.append(WriteAheadLog.PUT, payload(i));
+            }
+        }
+        Path segment = segments().get(0);
+        int lastPayload = RECORD_OVERHEAD * 2 + payload(1).length + payload(2).length + RECORD_OVERHEAD;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), lastPayload);
+        }
+
+        List<String> replayed = new ArrayList<>();
+        open(0, replayed).close();
+        assertThat(replayed).containsExactlyElementsOf(expected(1, 2));
+    }
+
+    @Test
+    void groupCommitMakesEveryConcurrentAppendDurable() throws Exception {
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (WriteAheadLog wal = WriteAheadLog.open(directory, 64 * 1024, true, 0, record -> { })) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        wal.awaitDurable(wal.append(WriteAheadLog.PUT, payload(thread * perThread + i)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> lsns = new ArrayList<>();
+        WriteAheadLog.open(directory, 64 * 1024, true, 0, record -> lsns.add(record.lsn())).close();
+        assertThat(lsns).hasSize(threads * perThread);
+        for (int i = 0; i < lsns.size(); i++) {
+            assertThat(lsns.get(i)).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    void truncationKeepsEverySegmentARecoveryAfterTheGivenLsnNeeds() throws IOException {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 500; i++) {
+                wal.append(WriteAheadLog.PUT, payload(i));
+            }
+            wal.truncateUpTo(250);
+        }
+
+        List<String> replayed = new ArrayList<>();
+        open(250, replayed).close();
+        assertThat(replayed).containsExactlyElementsOf(expected(251, 500));
+    }
+
+    @Test
+    void refusesToReplayOntoASnapshotTheLogNoLongerReaches() throws IOException {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 500; i++) {
+                wal.append(WriteAheadLog.PUT, payload(i));
+            }
+            wal.truncateUpTo(400);
+        }
+        assertThat(segments().get(0).getFileName().toString()).isNotEqualTo("wal-00000000000000000001.log");
+
+        assertThatIllegalStateException().isThrownBy(() -> open(100, new ArrayList<>()))
+            .withMessageContaining("are missing");
+    }
+
+    @Test
+    void appendsAfterASnapshotAheadOfTheLogSurviveTheNextRecovery() throws IOException {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 3; i++) {
+                wal.append(WriteAheadLog.PUT, payload(i));
+            }
+        }
+
+        // A snapshot at LSN 5 whose records 4 and 5 never reached the log
+        try (WriteAheadLog wal = open(5, new ArrayList<>())) {
+            assertThat(wal.lastLsn()).isEqualTo(5);
+            long lsn = wal.append(WriteAheadLog.PUT, payload(6));
+            assertThat(lsn).isEqualTo(6);
+            wal.awaitDurable(lsn);
+        }
+        assertThat(segments()).extracting(path -> path.getFileName().toString())
+            .containsExactly("wal-00000000000000000001.log", "wal-00000000000000000006.log");
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open(5, replayed)) {
+            assertThat(wal.lastLsn()).isEqualTo(6);
+        }
+        assertThat(replayed).containsExactly("1:6:record-6");
+
+        // Without the snapshot covering 4 and 5 the hole is still an error
+        assertThatIllegalStateException().isThrownBy(() -> open(2, new ArrayList<>()))
+            .withMessageContaining("does not follow LSN 3");
+    }
+
+    @Test
+    void forceAllReportsTheLastAppendedLsnWithoutFsync() {
+        try (WriteAheadLog wal = open(0, new ArrayList<>())) {
+            for (int i = 1; i <= 4; i++) {
+                wal.append(WriteAheadLog.PUT, payload(i));
+            }
+            assertThat(wal.forceAll()).isEqualTo(4);
+        }
+    }
+
+    private WriteAheadLog open(long afterLsn, List<String> replayed) {
+        return WriteAheadLog.open(directory, SEGMENT_SIZE, false, afterLsn, record -> {
+            byte[] bytes = new byte[record.payload().remaining()];
+            record.payload().get(bytes);
+            replayed.add(record.type() + ":" + record.lsn() + ":" + new String(bytes, StandardCharsets.UTF_8));
+        });
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-")).sorted().toList();
+        }
+    }
+
+    private static byte[] payload(int index) {
+        return ("record-" + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> expected(int from, int to) {
+        List<String> records = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            records.add("1:" + i + ":record-" + i);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.app.after.infrastructure.web;
+
+import com.example.app.after.domain.UserInvariantException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserExceptionHandlerTest {
+
+    private final UserExceptionHandler handler = new UserExceptionHandler();
+    private final ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(UserExceptionHandler.class);
+
+    @Test
+    void onlyInvariantViolationsAreConflicts() {
+        assertThat(resolver.resolveMethod(new UserInvariantException("User is already active")))
+            .extracting("name").isEqualTo("handleInvariantViolation");
+        assertThat(handler.handleInvariantViolation(new UserInvariantException("User is already active")).getStatus())
+            .isEqualTo(HttpStatus.CONFLICT.value());
+
+        // A closed log or a broken invariant elsewhere is a server error, not a client conflict
+        assertThat(resolver.resolveMethod(new IllegalStateException("Write-ahead log is closed"))).isNull();
+    }
+
+    @Test
+    void overloadIsServiceUnavailableWithRetryAfter() {
+        assertThat(resolver.resolveMethod(new TaskRejectedException("Write-behind queue is full")))
+            .extracting("name").isEqualTo("handleOverload");
+
+        ResponseEntity<ProblemDetail> response = handler.handleOverload(new TaskRejectedException("Write-behind queue is full"));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.app.after.infrastructure.web;
+
+import com.example.app.after.application.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserExportWriterTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 2, 3, 4, 24, 701_624_630);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 1, 2, 3, 4, 25);
+
+    private final UserExportWriter writer = new UserExportWriter(new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    @Test
+    void csvAndNdjsonWriteTheSameTimestamps() throws Exception {
+        String csv = export(UserExportWriter.Format.CSV);
+        String ndjson = export(UserExportWriter.Format.NDJSON);
+
+        assertThat(csv).contains(",2025-01-02T03:04:24.70162463,2025-01-02T03:04:25\r\n");
+        assertThat(ndjson)
+            .contains("\"createdAt\":\"2025-01-02T03:04:24.70162463\"")
+            .contains("\"updatedAt\":\"2025-01-02T03:04:25\"");
+    }
+
+    @Test
+    void csvQuotesFieldsWithSeparators() throws Exception {
+        String csv = export(UserExportWriter.Format.CSV);
+
+        assertThat(csv).startsWith("id,email,name,status,createdAt,updatedAt\r\n")
+            .contains(",\"Smith, \"\"Al\"\"\",");
+    }
+
+    private String export(UserExportWriter.Format format) throws Exception {
+        UserResponse user = new UserResponse("id-1", "al@example.com", "Smith, \"Al\"", "ACTIVE", CREATED, UPDATED);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(format, Stream.of(user), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.app.after.infrastructure.web;
+
+import com.example.app.after.application.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserJsonCacheTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+    private final UserJsonCache cache = new UserJsonCache(new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+        new UserJsonCacheProperties(100), new SimpleMeterRegistry());
+
+    @Test
+    void hitAtTheSameVersionSkipsMappingTheUser() {
+        AtomicInteger mapped = new AtomicInteger();
+        Supplier<UserResponse> ada = () -> {
+            mapped.incrementAndGet();
+            return response("Ada");
+        };
+
+        byte[] first = cache.toJson("u1", 1, ada);
+        byte[] second = cache.toJson("u1", 1, ada);
+
+        assertThat(second).isSameAs(first);
+        assertThat(mapped).hasValue(1);
+    }
+
+    @Test
+    void newVersionIsSerializedAgain() {
+        cache.toJson("u1", 1, () -> response("Ada"));
+
+        byte[] renamed = cache.toJson("u1", 2, () -> response("Ada Lovelace"));
+
+        assertThat(new String(renamed, StandardCharsets.UTF_8)).contains("\"name\":\"Ada Lovelace\"");
+    }
+
+    private static UserResponse response(String name) {
+        return new UserResponse("u1", "ada@example.com", name, "ACTIVE", CREATED, CREATED);
+    }
+}